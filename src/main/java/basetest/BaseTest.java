@@ -1,7 +1,6 @@
 package basetest;
 
 import com.aventstack.extentreports.Status;
-import io.github.bonigarcia.wdm.WebDriverManager;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
@@ -11,10 +10,21 @@ import org.openqa.selenium.edge.EdgeDriver;
 import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.testng.ITestResult;
 import org.testng.annotations.*;
+import server.LocalAutServer;
+import utils.AdaptiveTimeouts;
 import utils.ConfigReader;
+import utils.ElementCache;
+import utils.ExecutionMetrics;
 import utils.ExtentManager;
+import utils.LocatorRewriter;
+import utils.NavigationTimer;
+import utils.PageReadiness;
+import utils.ScreenshotPipeline;
+import utils.ScreenshotStore;
 import utils.ScreenshotUtils;
+import utils.WaitPolicy;
 
 // Importar logger
 import org.slf4j.Logger;
@@ -24,6 +34,8 @@ import java.io.File;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Listeners(utils.ExtentTestListener.class)
 public class BaseTest {
@@ -33,6 +45,10 @@ public class BaseTest {
     private static ThreadLocal<WebDriver> driverThreadLocal = new ThreadLocal<>();
     private static ThreadLocal<List<PendingStep>> pendingStepsThreadLocal = new ThreadLocal<>();
 
+    // Sessions already navigated to the base URL while being created (pre-spawned)
+    private static final Set<WebDriver> warmSessions = ConcurrentHashMap.newKeySet();
+    private static volatile SessionPrespawner prespawner;
+
     // Browser options constants
     private static final String HEADLESS_ARG = "--headless";
     private static final String NO_SANDBOX_ARG = "--no-sandbox";
@@ -57,25 +73,17 @@ public class BaseTest {
         private final String description;
         private final boolean isPassed;
         private final boolean takeScreenshot;
-        private final String screenshotBase64;
+        // Null while a passing step is only a marker: captured at commit time, if the policy wants it
+        private byte[] screenshotPng;
 
         public PendingStep(String description, boolean isPassed, boolean takeScreenshot) {
             this.description = description;
             this.isPassed = isPassed;
             this.takeScreenshot = takeScreenshot;
-            this.screenshotBase64 = takeScreenshot && getDriverSafe() != null ? captureScreenshotAsBase64() : null;
-        }
-
-        private String captureScreenshotAsBase64() {
-            try {
-                WebDriver driver = getDriverSafe();
-                if (driver != null) {
-                    return ((TakesScreenshot) driver).getScreenshotAs(OutputType.BASE64);
-                }
-            } catch (Exception e) {
-                logger.error("Error capturing screenshot: {}", e.getMessage());
+            // A failure is captured while the page still shows it; only passing steps are deferred
+            if (takeScreenshot && (!isPassed || ScreenshotPolicy.capturesOnCreate())) {
+                this.screenshotPng = captureScreenshot(getDriverSafe());
             }
-            return null;
         }
 
         public String getDescription() {
@@ -90,13 +98,20 @@ public class BaseTest {
             return takeScreenshot;
         }
 
-        public String getScreenshotBase64() {
-            return screenshotBase64;
+        public byte[] getScreenshotPng() {
+            return screenshotPng;
+        }
+
+        private boolean isMarker() {
+            return takeScreenshot && screenshotPng == null;
         }
     }
 
     @BeforeSuite
     public void setUpSuite() {
+        if (LocalAutServer.isRequested()) {
+            LocalAutServer.start();
+        }
         ExtentManager.createInstance();
         File reportsDir = new File(System.getProperty("user.dir") + "/reports");
         if (!reportsDir.exists()) {
@@ -113,6 +128,8 @@ public class BaseTest {
             logger.info("Browser: {}", ConfigReader.getBrowser());
             logger.info("Headless: {}", ConfigReader.isHeadless());
             logger.info("Timeout: {}", ConfigReader.getTimeout());
+            logger.info("Navigation profile: {}", NavigationProfile.fromConfig());
+            logger.info("Driver offline mode: {} (dir: {})", ConfigReader.isDriverOffline(), ConfigReader.getDriverOfflineDir());
             logger.info("===========================");
         } catch (Exception e) {
             logger.warn("Error reading configuration, using defaults: {}", e.getMessage());
@@ -123,22 +140,122 @@ public class BaseTest {
 
     @BeforeMethod
     public void setUp() {
-        WebDriver driver = createDriver();
+        WebDriver driver = SessionSupervisor.acquireHealthy(this::acquireDriver, dead -> {
+            warmSessions.remove(dead);
+            releaseDriver(dead, true);
+        });
         driverThreadLocal.set(driver);
         pendingStepsThreadLocal.set(new ArrayList<>());
 
+        if (!warmSessions.remove(driver)) {
+            navigateToBaseUrl(driver);
+        }
+
+        if (ConfigReader.isPrespawnEnabled() && nextLeaseNeedsNewSession(driver)) {
+            getPrespawner().prespawn();
+        }
+    }
+
+    /**
+     * With pooling, the next test reuses an idle session (or this one once released):
+     * a pre-spawned browser would never be claimed
+     */
+    private boolean nextLeaseNeedsNewSession(WebDriver current) {
+        return !ConfigReader.isDriverPoolEnabled() || pool().needsNewSession(current);
+    }
+
+    private static DriverPool pool() {
+        return DriverPool.forBrowser(ConfigReader.getBrowser(),
+                ConfigReader.getDriverPoolSize(), ConfigReader.getDriverPoolMaxUses());
+    }
+
+    /**
+     * Obtains the session for the current test: leased from the pool when pooling is enabled,
+     * otherwise a brand new browser
+     */
+    private WebDriver acquireDriver() {
+        if (!ConfigReader.isDriverPoolEnabled()) {
+            return openSession();
+        }
+
+        return pool().lease(this::openSession, Duration.ofSeconds(ConfigReader.getDriverPoolLeaseTimeout()));
+    }
+
+    /**
+     * Hands over a pre-spawned session when one is available, otherwise launches one now
+     */
+    private WebDriver openSession() {
+        if (ConfigReader.isPrespawnEnabled()) {
+            WebDriver warmed = getPrespawner().take();
+            if (warmed != null) {
+                return warmed;
+            }
+        }
+        return launchSession();
+    }
+
+    private WebDriver launchSession() {
+        WebDriver driver = createDriver();
+        // CDP sobre el driver original: el decorado ya no es un ChromiumDriver
+        PageReadiness.install(driver);
+        if (ConfigReader.isLocatorRewriteEnabled()) {
+            driver = LocatorRewriter.decorate(driver);
+        }
         configureTimeouts(driver);
         driver.manage().window().maximize();
-        navigateToBaseUrl();
+        return driver;
     }
 
-    private WebDriver createDriver() {
+    /**
+     * Fully warmed session for background pre-spawning: launched, configured and on the base URL
+     */
+    private WebDriver launchWarmSession() {
+        WebDriver driver = launchSession();
         try {
-            String browser = ConfigReader.getBrowser().toLowerCase();
-            boolean headless = ConfigReader.isHeadless();
+            navigateToBaseUrl(driver);
+        } catch (RuntimeException e) {
+            driver.quit();
+            throw e;
+        }
+        warmSessions.add(driver);
+        return driver;
+    }
+
+    private SessionPrespawner getPrespawner() {
+        if (prespawner == null) {
+            synchronized (BaseTest.class) {
+                if (prespawner == null) {
+                    prespawner = new SessionPrespawner(this::launchWarmSession, ConfigReader.getPrespawnMaxConcurrent());
+                }
+            }
+        }
+        return prespawner;
+    }
 
-            logger.info("Creating {} driver (headless: {})", browser, headless);
+    /**
+     * Gives the session back to the pool, or quits it when pooling is disabled
+     *
+     * @param discard Whether a pooled session must be recycled instead of reused
+     */
+    private void releaseDriver(WebDriver driver, boolean discard) {
+        if (ConfigReader.isDriverPoolEnabled()) {
+            pool().release(driver, discard);
+        } else {
+            driver.quit();
+        }
+    }
+
+    /**
+     * Launches the configured browser. Failures are reported as they are instead of falling back
+     * to another browser, so a broken environment does not silently run the suite elsewhere.
+     */
+    private WebDriver createDriver() {
+        String browser = ConfigReader.getBrowser().toLowerCase();
+        boolean headless = ConfigReader.isHeadless();
 
+        logger.info("Creating {} driver (headless: {})", browser, headless);
+
+        try {
             switch (browser) {
                 case "chrome":
                     return createChromeDriver(headless);
@@ -147,19 +264,20 @@ public class BaseTest {
                 case "edge":
                     return createEdgeDriver(headless);
                 default:
-                    logger.warn("Unknown browser: '{}'. Using Chrome as default.", browser);
-                    return createChromeDriver(headless);
+                    throw new IllegalArgumentException("Unsupported browser: '" + browser + "'. Use chrome, firefox or edge");
             }
-        } catch (Exception e) {
-            logger.error("Error creating driver: {}", e.getMessage());
-            logger.info("Falling back to basic Chrome driver");
-            return createChromeDriver(false); // Fallback to basic Chrome
+        } catch (RuntimeException e) {
+            ExecutionMetrics.increment("driver.create.failed." + browser);
+            logger.error("Error creating {} driver: {}", browser, e.getMessage());
+            throw e;
         }
     }
 
     private WebDriver createChromeDriver(boolean headless) {
-        WebDriverManager.chromedriver().setup();
+        DriverResolver.resolve(DriverResolver.DriverType.CHROME);
+        NavigationProfile profile = NavigationProfile.fromConfig();
         ChromeOptions options = new ChromeOptions();
+        profile.applyTo(options);
 
         if (headless) {
             options.addArguments(HEADLESS_ARG, NO_SANDBOX_ARG, DISABLE_DEV_SHM_ARG);
@@ -167,12 +285,15 @@ public class BaseTest {
 
         options.addArguments(DISABLE_WEB_SECURITY_ARG, DISABLE_VIZ_COMPOSITOR_ARG);
         logger.debug("Chrome driver created with options: {}", options.addArguments());
-        return new ChromeDriver(options);
+        ChromeDriver driver = new ChromeDriver(options);
+        profile.applyNetworkBlocking(driver);
+        return driver;
     }
 
     private WebDriver createFirefoxDriver(boolean headless) {
-        WebDriverManager.firefoxdriver().setup();
+        DriverResolver.resolve(DriverResolver.DriverType.FIREFOX);
         FirefoxOptions options = new FirefoxOptions();
+        NavigationProfile.fromConfig().applyTo(options);
 
         if (headless) {
             options.addArguments(HEADLESS_ARG);
@@ -183,22 +304,10 @@ public class BaseTest {
     }
 
     private WebDriver createEdgeDriver(boolean headless) {
-        try {
-            WebDriverManager.edgedriver().setup();
-        } catch (Exception e) {
-            // Fallback to manual driver if WebDriverManager fails
-            String edgeDriverPath = System.getProperty("user.dir") + "/src/main/resources/drivers/msedgedriver.exe";
-            System.setProperty("webdriver.edge.driver", edgeDriverPath);
-
-            logger.warn("WebDriverManager failed for Edge, using manual path: {}", edgeDriverPath);
-
-            File driverFile = new File(edgeDriverPath);
-            if (!driverFile.exists()) {
-                throw new RuntimeException("Edge driver not found at: " + edgeDriverPath);
-            }
-        }
-
+        DriverResolver.resolve(DriverResolver.DriverType.EDGE);
+        NavigationProfile profile = NavigationProfile.fromConfig();
         EdgeOptions options = new EdgeOptions();
+        profile.applyTo(options);
 
         if (headless) {
             options.addArguments(HEADLESS_ARG, NO_SANDBOX_ARG, DISABLE_DEV_SHM_ARG);
@@ -206,42 +315,50 @@ public class BaseTest {
 
         options.addArguments(DISABLE_WEB_SECURITY_ARG, DISABLE_VIZ_COMPOSITOR_ARG);
         logger.debug("Edge driver created");
-        return new EdgeDriver(options);
+        EdgeDriver driver = new EdgeDriver(options);
+        profile.applyNetworkBlocking(driver);
+        return driver;
     }
 
     private void configureTimeouts(WebDriver driver) {
         try {
             int timeout = ConfigReader.getTimeout();
-            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(timeout));
-            driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(30));
-            logger.debug("Timeouts configured: implicit={}s, pageLoad=30s", timeout);
+            int pageLoadTimeout = ConfigReader.getPageLoadTimeout();
+            WaitPolicy.register(driver, Duration.ofSeconds(timeout));
+            driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(pageLoadTimeout));
+            logger.debug("Timeouts configured: implicit={}s, pageLoad={}s", timeout, pageLoadTimeout);
         } catch (Exception e) {
-            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
+            WaitPolicy.register(driver, Duration.ofSeconds(10));
             driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(30));
             logger.warn("Error configuring timeouts, using defaults: {}", e.getMessage());
         }
     }
 
-    private void navigateToBaseUrl() {
+    private void navigateToBaseUrl(WebDriver driver) {
         try {
             String baseUrl = ConfigReader.getBaseUrl();
-            getDriver().get(baseUrl);
+            NavigationTimer.navigate(driver, baseUrl);
             logger.info("Navigated to base URL: {}", baseUrl);
         } catch (Exception e) {
             String defaultUrl = "https://automationexercise.com";
             logger.error("Error getting base URL: {}", e.getMessage());
             logger.info("Using default URL: {}", defaultUrl);
-            getDriver().get(defaultUrl);
+            driver.get(defaultUrl);
         }
     }
 
     @AfterMethod
-    public void tearDown() {
+    public void tearDown(ITestResult result) {
         WebDriver driver = driverThreadLocal.get();
         if (driver != null) {
             try {
-                driver.quit();
-                logger.debug("WebDriver closed successfully");
+                boolean failed = result.getStatus() != ITestResult.SUCCESS;
+                if (failed && ConfigReader.isSessionSupervisionEnabled() && !SessionSupervisor.isAlive(driver)) {
+                    SessionSupervisor.recordCrash(ConfigReader.getBrowser());
+                    logger.warn("{} session died during {}", ConfigReader.getBrowser(), result.getMethod().getMethodName());
+                }
+                releaseDriver(driver, failed);
+                logger.debug("WebDriver released successfully");
             } catch (Exception e) {
                 logger.error("Error closing driver: {}", e.getMessage());
             } finally {
@@ -254,12 +371,51 @@ public class BaseTest {
             steps.clear();
             pendingStepsThreadLocal.remove();
         }
+        ScreenshotPolicy.reset();
 
         ExtentManager.removeTest();
     }
 
     @AfterSuite
     public void tearDownSuite() {
+        if (prespawner != null) {
+            prespawner.shutdown();
+            logger.info("Pre-spawn latency hidden: {}", ExecutionMetrics.getTimer(SessionPrespawner.METRIC_HIDDEN));
+        }
+        DriverPool.shutdownAll();
+
+        if (ConfigReader.isDriverPoolEnabled()) {
+            String reuseRatio = String.format("%.0f%%", DriverPool.getReuseRatio() * 100);
+            logger.info("Driver pool reuse ratio: {}, lease wait: {}",
+                    reuseRatio, ExecutionMetrics.getTimer(DriverPool.METRIC_LEASE_WAIT));
+            ExtentManager.addSystemInfo("Driver Pool Reuse", reuseRatio);
+        }
+        long crashes = SessionSupervisor.getCrashCount(ConfigReader.getBrowser());
+        if (crashes > 0) {
+            logger.warn("Browser crashes ({}): {}, tests retried: {}", ConfigReader.getBrowser(), crashes,
+                    ExecutionMetrics.getCount(SessionRecoveryListener.METRIC_RETRIED));
+            ExtentManager.addSystemInfo("Browser Crashes", String.valueOf(crashes));
+        }
+        long cacheHits = ExecutionMetrics.getCount(ElementCache.METRIC_HIT);
+        if (cacheHits + ExecutionMetrics.getCount(ElementCache.METRIC_MISS) > 0) {
+            logger.info("Element cache: {} findElement calls saved, hit ratio {}, stale {}", cacheHits,
+                    String.format("%.0f%%", ExecutionMetrics.ratio(ElementCache.METRIC_HIT,
+                            ElementCache.METRIC_HIT, ElementCache.METRIC_MISS) * 100),
+                    ExecutionMetrics.getCount(ElementCache.METRIC_STALE));
+        }
+        if (ExecutionMetrics.getCount(ScreenshotPolicy.METRIC_CAPTURED) > 0) {
+            String screenshots = ScreenshotStore.summary();
+            logger.info("Screenshots: {}", screenshots);
+            ExtentManager.addSystemInfo("Screenshots", screenshots);
+        }
+        logger.info("=== EXECUTION METRICS ==={}", ExecutionMetrics.summary());
+        if (!AdaptiveTimeouts.MODE_OFF.equals(ConfigReader.getAdaptiveTimeoutsMode())) {
+            AdaptiveTimeouts.save();
+            logger.info("=== ADAPTIVE TIMEOUTS ({}) ==={}", ConfigReader.getAdaptiveTimeoutsMode(), AdaptiveTimeouts.report());
+        }
+
+        LocalAutServer.stop();
+
         logger.info("Flushing extent reports");
         ExtentManager.flushReport();
     }
@@ -269,7 +425,7 @@ public class BaseTest {
         WebDriver driver = driverThreadLocal.get();
         if (driver != null) {
             try {
-                driver.quit();
+                releaseDriver(driver, true);
             } catch (Exception e) {
                 logger.error("Error closing driver in @AfterTest: {}", e.getMessage());
             } finally {
@@ -293,7 +449,7 @@ public class BaseTest {
     // Navigation Helper Methods
     public static void navigateToUrl(String url) {
         try {
-            getDriver().get(url);
+            NavigationTimer.navigate(getDriver(), url);
             logger.info("Navigated to URL: {}", url);
         } catch (Exception e) {
             logger.error("Error navigating to URL {}: {}", url, e.getMessage());
@@ -380,11 +536,11 @@ public class BaseTest {
 
         switch (action) {
             case COMMIT_SUCCESS:
-                steps.forEach(BaseTest::writeStepDirectlyWithStoredScreenshot);
+                commitSteps(steps, driver);
                 break;
 
             case COMMIT_WITH_FAILURE:
-                steps.forEach(BaseTest::writeStepDirectlyWithStoredScreenshot);
+                commitSteps(steps, driver);
                 writeStepDirectly(failureDescription, false, takeScreenshot, driver);
                 break;
 
@@ -394,25 +550,16 @@ public class BaseTest {
                     break;
                 }
 
-                for (int i = 0; i < steps.size() - 1; i++) {
-                    writeStepDirectlyWithStoredScreenshot(steps.get(i));
-                }
+                commitSteps(steps.subList(0, steps.size() - 1), driver);
 
                 PendingStep lastStep = steps.get(steps.size() - 1);
                 String mergedMessage = lastStep.getDescription() + "<br>" + failureDescription;
-
-                String failureScreenshot = null;
-                if (takeScreenshot && driver != null) {
-                    try {
-                        failureScreenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BASE64);
-                    } catch (Exception e) {
-                        logger.error("Error capturing failure screenshot: {}", e.getMessage());
-                    }
-                }
-                writeStepWithCustomScreenshot(mergedMessage, false, failureScreenshot);
+                byte[] failureScreenshot = takeScreenshot ? captureScreenshot(driver) : null;
+                writeStep(mergedMessage, false, failureScreenshot);
                 break;
 
             case DISCARD_AND_FAIL:
+                steps.stream().filter(PendingStep::isMarker).forEach(step -> ScreenshotPolicy.recordSkipped());
                 writeStepDirectly(failureDescription, false, takeScreenshot, driver);
                 break;
         }
@@ -421,69 +568,100 @@ public class BaseTest {
     }
 
     // Private Step Writing Methods
-    private static void writeStepDirectlyWithStoredScreenshot(PendingStep step) {
-        if (ExtentManager.getTest() == null) {
-            return;
-        }
 
-        Status status = step.isPassed() ? Status.PASS : Status.FAIL;
+    /**
+     * Writes committed buffered steps, resolving their screenshot markers with the policy:
+     * failed steps were captured on creation, passing ones share a single capture (the page state the buffer led to)
+     * that goes to the report (ON_COMMIT), to the recent ring (LAST_N_BEFORE_FAILURE) or nowhere.
+     */
+    private static void commitSteps(List<PendingStep> steps, WebDriver driver) {
+        PendingStep sharedCapture = null;
+        for (PendingStep step : steps) {
+            if (step.isMarker() && step.isPassed()) {
+                if (sharedCapture != null) {
+                    ScreenshotPolicy.recordSkipped();
+                }
+                sharedCapture = step;
+            }
+        }
+        boolean capturePassing = ScreenshotPolicy.capturesStep(true) || ScreenshotPolicy.keepsRecent();
+        if (sharedCapture != null && !capturePassing) {
+            ScreenshotPolicy.recordSkipped();
+        }
 
-        if (step.shouldTakeScreenshot() && step.getScreenshotBase64() != null) {
-            try {
-                String styleName = step.isPassed() ? "success" : "error";
-                String imageHtml = ScreenshotUtils.generateScreenshotHtml(
-                        step.getScreenshotBase64(), styleName, step.getDescription());
-                ExtentManager.getTest().log(status, step.getDescription() + "<br>" + imageHtml);
-            } catch (Exception e) {
-                ExtentManager.getTest().log(status, step.getDescription());
-                ExtentManager.getTest().log(Status.WARNING, "Error displaying screenshot: " + e.getMessage());
+        for (PendingStep step : steps) {
+            if (step == sharedCapture && capturePassing) {
+                step.screenshotPng = captureScreenshot(driver);
+            }
+            if (step.isPassed() && ScreenshotPolicy.keepsRecent()) {
+                ScreenshotPolicy.remember(step.getDescription(), step.getScreenshotPng());
+                writeStep(step.getDescription(), true, null);
+            } else {
+                writeStep(step.getDescription(), step.isPassed(), step.getScreenshotPng());
             }
-        } else {
-            ExtentManager.getTest().log(status, step.getDescription());
         }
     }
 
-    private static void writeStepWithCustomScreenshot(String stepDescription, boolean isPassed, String screenshotBase64) {
+    private static void writeStepDirectly(String stepDescription, boolean isPassed, boolean takeScreenshot, WebDriver driver) {
         if (ExtentManager.getTest() == null) {
+            logger.warn("No active test to create step: {}", stepDescription);
             return;
         }
 
-        Status status = isPassed ? Status.PASS : Status.FAIL;
-
-        if (screenshotBase64 != null) {
-            try {
-                String styleName = isPassed ? "success" : "error";
-                String imageHtml = ScreenshotUtils.generateScreenshotHtml(screenshotBase64, styleName, stepDescription);
-                ExtentManager.getTest().log(status, stepDescription + "<br>" + imageHtml);
-            } catch (Exception e) {
-                ExtentManager.getTest().log(status, stepDescription);
-                ExtentManager.getTest().log(Status.WARNING, "Error displaying screenshot: " + e.getMessage());
+        byte[] screenshot = null;
+        if (takeScreenshot && driver != null) {
+            if (ScreenshotPolicy.capturesStep(isPassed)) {
+                screenshot = captureScreenshot(driver);
+            } else if (ScreenshotPolicy.keepsRecent()) {
+                ScreenshotPolicy.remember(stepDescription, captureScreenshot(driver));
+            } else {
+                ScreenshotPolicy.recordSkipped();
             }
-        } else {
-            ExtentManager.getTest().log(status, stepDescription);
         }
+        writeStep(stepDescription, isPassed, screenshot);
     }
 
-    private static void writeStepDirectly(String stepDescription, boolean isPassed, boolean takeScreenshot, WebDriver driver) {
+    private static void writeStep(String stepDescription, boolean isPassed, byte[] screenshotPng) {
         if (ExtentManager.getTest() == null) {
-            logger.warn("No active test to create step: {}", stepDescription);
             return;
         }
 
+        if (!isPassed) {
+            writeRecentCaptures();
+        }
         Status status = isPassed ? Status.PASS : Status.FAIL;
+        logWithScreenshot(status, stepDescription, screenshotPng, isPassed ? "success" : "error");
+    }
 
-        if (takeScreenshot && driver != null) {
-            try {
-                String base64Screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BASE64);
-                String styleName = isPassed ? "success" : "error";
-                String imageHtml = ScreenshotUtils.generateScreenshotHtml(base64Screenshot, styleName, stepDescription);
-                ExtentManager.getTest().log(status, stepDescription + "<br>" + imageHtml);
-            } catch (Exception e) {
-                ExtentManager.getTest().log(status, stepDescription);
-                ExtentManager.getTest().log(Status.WARNING, ScreenshotUtils.getErrorMessage() + ": " + e.getMessage());
+    /**
+     * Evidence kept by LAST_N_BEFORE_FAILURE: the screenshots of the steps that led to the failure
+     */
+    private static void writeRecentCaptures() {
+        for (ScreenshotPolicy.RecentCapture capture : ScreenshotPolicy.drainRecent()) {
+            logWithScreenshot(Status.INFO, "Before failure: " + capture.getDescription(),
+                    capture.getScreenshotPng(), "standard");
+        }
+    }
+
+    // Only the PNG bytes are handled here: encoding, HTML and the report append run in the pipeline
+    private static void logWithScreenshot(Status status, String description, byte[] screenshotPng, String styleName) {
+        ScreenshotPipeline.submit(ExtentManager.getTest(), status, description, screenshotPng, styleName);
+    }
+
+    private static byte[] captureScreenshot(WebDriver driver) {
+        if (driver == null) {
+            return null;
+        }
+        try {
+            byte[] screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+            ExecutionMetrics.increment(ScreenshotPolicy.METRIC_CAPTURED);
+            return screenshot;
+        } catch (Exception e) {
+            logger.error("Error capturing screenshot: {}", e.getMessage());
+            if (ExtentManager.getTest() != null) {
+                ExtentManager.log(Status.WARNING, ScreenshotUtils.getErrorMessage() + ": " + e.getMessage());
             }
-        } else {
-            ExtentManager.getTest().log(status, stepDescription);
+            return null;
         }
     }
 
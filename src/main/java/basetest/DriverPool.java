@@ -0,0 +1,243 @@
+package basetest;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.ExecutionMetrics;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of live WebDriver sessions for one browser type.
+ * Sessions are leased in @BeforeMethod, reset between leases and recycled
+ * after a number of uses or when the test that held them failed.
+ */
+public class DriverPool {
+    private static final Logger logger = LoggerFactory.getLogger(DriverPool.class);
+
+    private static final Map<String, DriverPool> pools = new ConcurrentHashMap<>();
+    private static final long IDLE_POLL_MILLIS = 250;
+
+    // Metric names
+    public static final String METRIC_CREATED = "driver.pool.created";
+    public static final String METRIC_REUSED = "driver.pool.reused";
+    public static final String METRIC_RECYCLED = "driver.pool.recycled";
+    public static final String METRIC_UNHEALTHY = "driver.pool.unhealthy";
+    public static final String METRIC_LEASE_WAIT = "driver.pool.lease.wait";
+
+    private final String browser;
+    private final int maxUses;
+    private final Semaphore capacity;
+    private final BlockingDeque<PooledSession> idle = new LinkedBlockingDeque<>();
+    private final Map<WebDriver, PooledSession> leased = new ConcurrentHashMap<>();
+
+    private static class PooledSession {
+        private final WebDriver driver;
+        private int uses;
+
+        private PooledSession(WebDriver driver) {
+            this.driver = driver;
+        }
+    }
+
+    private DriverPool(String browser, int maxSize, int maxUses) {
+        this.browser = browser;
+        this.maxUses = Math.max(1, maxUses);
+        this.capacity = new Semaphore(Math.max(1, maxSize));
+    }
+
+    /**
+     * Returns the JVM-wide pool for a browser type, creating it on first use
+     */
+    public static DriverPool forBrowser(String browser, int maxSize, int maxUses) {
+        return pools.computeIfAbsent(browser.toLowerCase(), key -> new DriverPool(key, maxSize, maxUses));
+    }
+
+    /**
+     * Whether the next lease will have to create a session: none is idle and the one held by
+     * the caller will be recycled on release instead of returning to the pool
+     *
+     * @param current Session currently leased by the caller
+     */
+    public boolean needsNewSession(WebDriver current) {
+        PooledSession session = leased.get(current);
+        return idle.isEmpty() && (session == null || session.uses + 1 >= maxUses);
+    }
+
+    /**
+     * Leases a healthy session, creating a new one while the pool has capacity
+     *
+     * @param factory Creates a fully configured session when the pool has none idle
+     * @param timeout Maximum time to wait for a session to become available
+     */
+    public WebDriver lease(Supplier<WebDriver> factory, Duration timeout) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+
+        while (true) {
+            PooledSession session = idle.pollFirst();
+            if (session == null && capacity.tryAcquire()) {
+                ExecutionMetrics.recordSince(METRIC_LEASE_WAIT, start);
+                return createSession(factory);
+            }
+
+            if (session == null) {
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException("No " + browser + " session available in pool after "
+                            + timeout.getSeconds() + "s");
+                }
+                try {
+                    session = idle.pollFirst(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for a pooled session", e);
+                }
+                if (session == null) {
+                    continue;
+                }
+            }
+
+            if (isHealthy(session)) {
+                leased.put(session.driver, session);
+                ExecutionMetrics.recordSince(METRIC_LEASE_WAIT, start);
+                ExecutionMetrics.increment(METRIC_REUSED);
+                logger.debug("Reusing pooled {} session (uses so far: {})", browser, session.uses);
+                return session.driver;
+            }
+
+            ExecutionMetrics.increment(METRIC_UNHEALTHY);
+            logger.warn("Discarding unhealthy pooled {} session", browser);
+            destroy(session);
+        }
+    }
+
+    /**
+     * Returns a session to the pool, or quits it when it failed, is worn out or cannot be reset
+     *
+     * @param driver  Session previously obtained from {@link #lease}
+     * @param discard Whether the session must be quit instead of reused (e.g. test failure)
+     */
+    public void release(WebDriver driver, boolean discard) {
+        PooledSession session = leased.remove(driver);
+        if (session == null) {
+            logger.warn("Releasing a {} session that does not belong to the pool, quitting it", browser);
+            quitQuietly(driver);
+            return;
+        }
+
+        session.uses++;
+        if (discard || session.uses >= maxUses || !reset(session)) {
+            ExecutionMetrics.increment(METRIC_RECYCLED);
+            logger.debug("Recycling pooled {} session after {} uses (discard: {})", browser, session.uses, discard);
+            destroy(session);
+            return;
+        }
+
+        idle.offerFirst(session);
+    }
+
+    /**
+     * Quits every session of every pool. Intended for @AfterSuite
+     */
+    public static void shutdownAll() {
+        pools.values().forEach(DriverPool::shutdown);
+        pools.clear();
+    }
+
+    private void shutdown() {
+        List<PooledSession> sessions = new ArrayList<>(leased.values());
+        leased.clear();
+        idle.drainTo(sessions);
+        sessions.forEach(this::destroy);
+        logger.info("Driver pool for {} shut down ({} sessions closed)", browser, sessions.size());
+    }
+
+    private WebDriver createSession(Supplier<WebDriver> factory) {
+        try {
+            WebDriver driver = factory.get();
+            leased.put(driver, new PooledSession(driver));
+            ExecutionMetrics.increment(METRIC_CREATED);
+            return driver;
+        } catch (RuntimeException e) {
+            capacity.release();
+            throw e;
+        }
+    }
+
+    private boolean isHealthy(PooledSession session) {
+        try {
+            session.driver.getWindowHandle();
+            return true;
+        } catch (Exception e) {
+            logger.debug("Health check failed for pooled {} session: {}", browser, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Clears alerts, extra windows, web storage and cookies so the next lease starts clean
+     */
+    private boolean reset(PooledSession session) {
+        WebDriver driver = session.driver;
+        try {
+            try {
+                driver.switchTo().alert().dismiss();
+            } catch (NoAlertPresentException ignored) {
+                // No alert open
+            }
+
+            List<String> handles = new ArrayList<>(driver.getWindowHandles());
+            for (int i = 1; i < handles.size(); i++) {
+                driver.switchTo().window(handles.get(i));
+                driver.close();
+            }
+            driver.switchTo().window(handles.get(0));
+
+            try {
+                ((JavascriptExecutor) driver).executeScript(
+                        "try { window.localStorage.clear(); } catch (e) {}" +
+                        "try { window.sessionStorage.clear(); } catch (e) {}");
+            } catch (Exception e) {
+                logger.debug("Could not clear web storage: {}", e.getMessage());
+            }
+
+            driver.manage().deleteAllCookies();
+            driver.get("about:blank");
+            return true;
+        } catch (Exception e) {
+            logger.warn("Error resetting pooled {} session: {}", browser, e.getMessage());
+            return false;
+        }
+    }
+
+    private void destroy(PooledSession session) {
+        quitQuietly(session.driver);
+        capacity.release();
+    }
+
+    private void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            logger.debug("Error quitting {} session: {}", browser, e.getMessage());
+        }
+    }
+
+    /**
+     * Share of leases served by an already running session
+     */
+    public static double getReuseRatio() {
+        return ExecutionMetrics.ratio(METRIC_REUSED, METRIC_REUSED, METRIC_CREATED);
+    }
+}
@@ -0,0 +1,305 @@
+package basetest;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import io.github.bonigarcia.wdm.config.DriverManagerType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.ConfigReader;
+import utils.ExecutionMetrics;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves each browser's driver binary once per JVM.
+ * Lookup order: memory, on-disk cache keyed by browser version, a pre-populated
+ * offline directory and, unless offline mode is on, WebDriverManager.
+ */
+public class DriverResolver {
+    private static final Logger logger = LoggerFactory.getLogger(DriverResolver.class);
+
+    private static final String CACHE_FILE = "driver-cache.properties";
+    private static final String UNKNOWN_VERSION = "unknown";
+    private static final long VERSION_PROBE_TIMEOUT_SECONDS = 5;
+    private static final Pattern VERSION_PATTERN = Pattern.compile("(\\d+)(\\.\\d+)+");
+    private static final boolean IS_WINDOWS = System.getProperty("os.name").toLowerCase().contains("win");
+    private static final boolean IS_MAC = System.getProperty("os.name").toLowerCase().contains("mac");
+
+    // One future per browser: the first caller resolves outside the map, the rest wait for its result
+    private static final Map<DriverType, CompletableFuture<Path>> resolved = new ConcurrentHashMap<>();
+
+    public enum DriverType {
+        CHROME("chromedriver", "webdriver.chrome.driver", DriverManagerType.CHROME,
+                Arrays.asList("google-chrome", "google-chrome-stable", "chromium", "chromium-browser"),
+                "/Applications/Google Chrome.app/Contents/MacOS/Google Chrome",
+                "HKEY_CURRENT_USER\\Software\\Google\\Chrome\\BLBeacon"),
+        FIREFOX("geckodriver", "webdriver.gecko.driver", DriverManagerType.FIREFOX,
+                Arrays.asList("firefox"),
+                "/Applications/Firefox.app/Contents/MacOS/firefox",
+                null),
+        EDGE("msedgedriver", "webdriver.edge.driver", DriverManagerType.EDGE,
+                Arrays.asList("microsoft-edge", "microsoft-edge-stable"),
+                "/Applications/Microsoft Edge.app/Contents/MacOS/Microsoft Edge",
+                "HKEY_CURRENT_USER\\Software\\Microsoft\\Edge\\BLBeacon");
+
+        private final String binaryName;
+        private final String systemProperty;
+        private final DriverManagerType managerType;
+        private final List<String> linuxCommands;
+        private final String macBinary;
+        private final String windowsRegistryKey;
+
+        DriverType(String binaryName, String systemProperty, DriverManagerType managerType,
+                   List<String> linuxCommands, String macBinary, String windowsRegistryKey) {
+            this.binaryName = binaryName;
+            this.systemProperty = systemProperty;
+            this.managerType = managerType;
+            this.linuxCommands = linuxCommands;
+            this.macBinary = macBinary;
+            this.windowsRegistryKey = windowsRegistryKey;
+        }
+
+        public String getBinaryFileName() {
+            return IS_WINDOWS ? binaryName + ".exe" : binaryName;
+        }
+    }
+
+    /**
+     * Makes sure the driver binary for the given browser is resolved and registered
+     * in the matching webdriver.*.driver system property. Only the first call per
+     * browser does any work.
+     *
+     * @return Path of the driver binary
+     */
+    public static Path resolve(DriverType type) {
+        CompletableFuture<Path> claimed = new CompletableFuture<>();
+        CompletableFuture<Path> existing = resolved.putIfAbsent(type, claimed);
+        if (existing != null) {
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+
+        try {
+            Path driverPath = resolveOnce(type);
+            claimed.complete(driverPath);
+            return driverPath;
+        } catch (RuntimeException e) {
+            // A failed resolution is not cached: the next caller tries again
+            resolved.remove(type, claimed);
+            claimed.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static Path resolveOnce(DriverType type) {
+        long start = System.nanoTime();
+        String browserVersion = detectBrowserVersion(type);
+        String cacheKey = type.name().toLowerCase() + "." + majorVersion(browserVersion);
+
+        Path driverPath = fromConfiguredProperty(type);
+        String source = "system property";
+
+        if (driverPath == null) {
+            driverPath = fromDiskCache(cacheKey);
+            source = "disk cache";
+        }
+        if (driverPath == null) {
+            driverPath = fromOfflineDirectory(type, majorVersion(browserVersion));
+            source = "offline directory";
+        }
+        if (driverPath == null) {
+            if (ConfigReader.isDriverOffline()) {
+                throw new IllegalStateException("No " + type.getBinaryFileName() + " found for browser version "
+                        + browserVersion + " in " + ConfigReader.getDriverOfflineDir() + " (driver.offline=true)");
+            }
+            driverPath = fromWebDriverManager(type, browserVersion);
+            source = "WebDriverManager";
+        }
+
+        System.setProperty(type.systemProperty, driverPath.toString());
+        storeInDiskCache(cacheKey, driverPath);
+
+        ExecutionMetrics.recordSince("driver.resolve." + type.name().toLowerCase(), start);
+        logger.info("Resolved {} for browser version {} from {} in {} ms: {}", type.getBinaryFileName(),
+                browserVersion, source, (System.nanoTime() - start) / 1_000_000, driverPath);
+        return driverPath;
+    }
+
+    private static Path fromConfiguredProperty(DriverType type) {
+        String configured = System.getProperty(type.systemProperty);
+        return configured != null && isExecutable(Paths.get(configured)) ? Paths.get(configured) : null;
+    }
+
+    private static Path fromOfflineDirectory(DriverType type, String majorVersion) {
+        Path dir = Paths.get(ConfigReader.getDriverOfflineDir());
+        String file = type.getBinaryFileName();
+        List<Path> candidates = new ArrayList<>();
+        candidates.add(dir.resolve(type.name().toLowerCase()).resolve(majorVersion).resolve(file));
+        candidates.add(dir.resolve(majorVersion).resolve(file));
+        candidates.add(dir.resolve(file));
+
+        for (Path candidate : candidates) {
+            if (isExecutable(candidate)) {
+                return candidate.toAbsolutePath();
+            }
+        }
+        return null;
+    }
+
+    private static Path fromWebDriverManager(DriverType type, String browserVersion) {
+        WebDriverManager manager = WebDriverManager.getInstance(type.managerType);
+        if (!UNKNOWN_VERSION.equals(browserVersion)) {
+            manager.browserVersion(majorVersion(browserVersion));
+        }
+        manager.setup();
+        return Paths.get(manager.getDownloadedDriverPath());
+    }
+
+    // ==================== Disk cache ====================
+
+    private static synchronized Path fromDiskCache(String cacheKey) {
+        String cached = loadDiskCache().getProperty(cacheKey);
+        if (cached != null && isExecutable(Paths.get(cached))) {
+            return Paths.get(cached);
+        }
+        return null;
+    }
+
+    private static synchronized void storeInDiskCache(String cacheKey, Path driverPath) {
+        Properties cache = loadDiskCache();
+        if (driverPath.toString().equals(cache.getProperty(cacheKey))) {
+            return;
+        }
+        cache.setProperty(cacheKey, driverPath.toString());
+
+        Path cacheFile = Paths.get(ConfigReader.getDriverCacheDir(), CACHE_FILE);
+        try {
+            Files.createDirectories(cacheFile.getParent());
+            try (Writer writer = Files.newBufferedWriter(cacheFile, StandardCharsets.UTF_8)) {
+                cache.store(writer, "Driver binaries resolved per browser major version");
+            }
+        } catch (IOException e) {
+            logger.warn("Could not write driver cache {}: {}", cacheFile, e.getMessage());
+        }
+    }
+
+    private static Properties loadDiskCache() {
+        Properties cache = new Properties();
+        Path cacheFile = Paths.get(ConfigReader.getDriverCacheDir(), CACHE_FILE);
+        if (Files.exists(cacheFile)) {
+            try (Reader reader = Files.newBufferedReader(cacheFile, StandardCharsets.UTF_8)) {
+                cache.load(reader);
+            } catch (IOException e) {
+                logger.warn("Could not read driver cache {}: {}", cacheFile, e.getMessage());
+            }
+        }
+        return cache;
+    }
+
+    // ==================== Browser version detection ====================
+
+    /**
+     * Detects the installed browser version locally (no network access)
+     */
+    static String detectBrowserVersion(DriverType type) {
+        List<List<String>> commands = new ArrayList<>();
+        if (IS_WINDOWS) {
+            if (type.windowsRegistryKey != null) {
+                commands.add(Arrays.asList("reg", "query", type.windowsRegistryKey, "/v", "version"));
+            }
+        } else if (IS_MAC) {
+            commands.add(Arrays.asList(type.macBinary, "--version"));
+        } else {
+            for (String command : type.linuxCommands) {
+                commands.add(Arrays.asList(command, "--version"));
+            }
+        }
+
+        for (List<String> command : commands) {
+            String output = runQuietly(command);
+            Matcher matcher = output == null ? null : VERSION_PATTERN.matcher(output);
+            if (matcher != null && matcher.find()) {
+                return matcher.group();
+            }
+        }
+        logger.debug("Could not detect {} version, driver will be resolved without version key", type);
+        return UNKNOWN_VERSION;
+    }
+
+    private static String runQuietly(List<String> command) {
+        Process process;
+        try {
+            process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        } catch (IOException e) {
+            return null;
+        }
+        // The output is read on another thread: a wrapper that never exits (snap, flatpak, first-run dialog)
+        // would otherwise block the read forever and the timeout below would never apply
+        CompletableFuture<String> output = CompletableFuture.supplyAsync(() -> readOutput(process));
+        try {
+            if (!process.waitFor(VERSION_PROBE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.debug("'{}' did not finish within {} s, killing it", String.join(" ", command),
+                        VERSION_PROBE_TIMEOUT_SECONDS);
+                process.destroyForcibly();
+                return null;
+            }
+            String text = output.get(VERSION_PROBE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            return process.exitValue() == 0 ? text : null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            process.destroyForcibly();
+            return null;
+        } catch (ExecutionException | TimeoutException e) {
+            // A child that inherited the stdout pipe can keep it open after the probe exits
+            process.destroyForcibly();
+            return null;
+        }
+    }
+
+    private static String readOutput(Process process) {
+        StringBuilder output = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                output.append(line).append('\n');
+            }
+        } catch (IOException e) {
+            // The process was killed while its output was being read
+        }
+        return output.toString();
+    }
+
+    private static String majorVersion(String version) {
+        int dot = version.indexOf('.');
+        return dot > 0 ? version.substring(0, dot) : version;
+    }
+
+    private static boolean isExecutable(Path path) {
+        File file = path.toFile();
+        return file.isFile() && (IS_WINDOWS || file.canExecute());
+    }
+}
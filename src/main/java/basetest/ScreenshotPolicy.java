@@ -0,0 +1,123 @@
+package basetest;
+
+import utils.ConfigReader;
+import utils.ExecutionMetrics;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Decides when a step that asks for a screenshot actually gets one (screenshot.policy).
+ * Passing buffered steps never capture on creation (except in ALWAYS): they keep a marker and are captured,
+ * if at all, when the buffer is committed, so a discarded buffer costs no browser round trips.
+ * Failed steps are always captured, whatever the mode, and buffered ones at creation.
+ * Metrics: "screenshot.captured" (browser calls) and "screenshot.skipped" (requests the policy dropped).
+ */
+public final class ScreenshotPolicy {
+
+    public static final String METRIC_CAPTURED = "screenshot.captured";
+    public static final String METRIC_SKIPPED = "screenshot.skipped";
+
+    public enum Mode {
+        ALWAYS,                 // Every step that asks, at creation time (legacy behaviour)
+        ON_COMMIT,              // Immediate steps as ALWAYS; a committed buffer gets one capture, on its last step
+        ON_FAILURE_ONLY,        // Only failed steps
+        LAST_N_BEFORE_FAILURE   // Passing captures go to a ring of the last N, written only when a failure is logged
+    }
+
+    /**
+     * A passing step's capture kept in memory until a failure needs it
+     */
+    public static class RecentCapture {
+        private final String description;
+        private final byte[] screenshotPng;
+
+        private RecentCapture(String description, byte[] screenshotPng) {
+            this.description = description;
+            this.screenshotPng = screenshotPng;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public byte[] getScreenshotPng() {
+            return screenshotPng;
+        }
+    }
+
+    private static volatile Mode mode;
+    private static final ThreadLocal<Deque<RecentCapture>> recentCaptures = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private ScreenshotPolicy() {
+    }
+
+    public static Mode getMode() {
+        if (mode == null) {
+            String configured = ConfigReader.getScreenshotPolicy().trim().toUpperCase(Locale.ROOT);
+            try {
+                mode = Mode.valueOf(configured);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown screenshot.policy: " + configured.toLowerCase(Locale.ROOT)
+                        + " (always | on_commit | on_failure_only | last_n_before_failure)");
+            }
+        }
+        return mode;
+    }
+
+    /**
+     * Whether a buffered step is captured when it is created instead of holding a marker
+     */
+    static boolean capturesOnCreate() {
+        return getMode() == Mode.ALWAYS;
+    }
+
+    /**
+     * Whether a step written to the report right now gets its screenshot
+     */
+    static boolean capturesStep(boolean isPassed) {
+        return !isPassed || getMode() == Mode.ALWAYS || getMode() == Mode.ON_COMMIT;
+    }
+
+    /**
+     * Whether passing steps are captured into the ring instead of the report
+     */
+    static boolean keepsRecent() {
+        return getMode() == Mode.LAST_N_BEFORE_FAILURE;
+    }
+
+    static void remember(String description, byte[] screenshotPng) {
+        if (screenshotPng == null) {
+            return;
+        }
+        Deque<RecentCapture> ring = recentCaptures.get();
+        ring.addLast(new RecentCapture(description, screenshotPng));
+        while (ring.size() > Math.max(1, ConfigReader.getScreenshotPolicyLastN())) {
+            ring.removeFirst();
+        }
+    }
+
+    /**
+     * Returns and forgets the captures kept for the current thread, oldest first
+     */
+    static List<RecentCapture> drainRecent() {
+        Deque<RecentCapture> ring = recentCaptures.get();
+        List<RecentCapture> drained = new ArrayList<>(ring);
+        ring.clear();
+        return drained;
+    }
+
+    static void recordSkipped() {
+        ExecutionMetrics.increment(METRIC_SKIPPED);
+    }
+
+    /**
+     * Drops the ring of the current thread (end of test)
+     */
+    static void reset() {
+        recentCaptures.remove();
+    }
+}
@@ -0,0 +1,133 @@
+package basetest;
+
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.ExecutionMetrics;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Creates the next browser session on a background thread while the current test runs,
+ * so the following @BeforeMethod receives an already launched and navigated session.
+ */
+public class SessionPrespawner {
+    private static final Logger logger = LoggerFactory.getLogger(SessionPrespawner.class);
+
+    // Metric names
+    public static final String METRIC_STARTED = "prespawn.started";
+    public static final String METRIC_CLAIMED = "prespawn.claimed";
+    public static final String METRIC_FAILED = "prespawn.failed";
+    public static final String METRIC_SKIPPED = "prespawn.skipped";
+    public static final String METRIC_HIDDEN = "prespawn.hidden.latency";
+    public static final String METRIC_HANDOVER_WAIT = "prespawn.handover.wait";
+
+    private final Supplier<WebDriver> factory;
+    private final Semaphore slots;
+    private final ExecutorService executor;
+    private final ConcurrentLinkedQueue<Spawn> spawns = new ConcurrentLinkedQueue<>();
+
+    private static class Spawn {
+        private final long startNanos = System.nanoTime();
+        private volatile long finishedNanos;
+        private Future<WebDriver> future;
+    }
+
+    /**
+     * @param factory       Creates a fully warmed session (launched, configured and navigated)
+     * @param maxConcurrent Maximum number of sessions being spawned or waiting to be claimed
+     */
+    public SessionPrespawner(Supplier<WebDriver> factory, int maxConcurrent) {
+        this.factory = factory;
+        this.slots = new Semaphore(Math.max(1, maxConcurrent));
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "session-prespawn-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts spawning a session in the background unless the concurrency cap is reached
+     */
+    public void prespawn() {
+        if (!slots.tryAcquire()) {
+            ExecutionMetrics.increment(METRIC_SKIPPED);
+            return;
+        }
+
+        Spawn spawn = new Spawn();
+        try {
+            spawn.future = executor.submit(() -> {
+                try {
+                    return factory.get();
+                } finally {
+                    spawn.finishedNanos = System.nanoTime();
+                }
+            });
+        } catch (RuntimeException e) {
+            slots.release();
+            throw e;
+        }
+        spawns.add(spawn);
+        ExecutionMetrics.increment(METRIC_STARTED);
+        logger.debug("Pre-spawning next browser session in background");
+    }
+
+    /**
+     * Hands over the oldest pre-spawned session, waiting for it if still launching
+     *
+     * @return A warmed session, or null if none was started or spawning failed
+     */
+    public WebDriver take() {
+        Spawn spawn = spawns.poll();
+        if (spawn == null) {
+            return null;
+        }
+
+        long waitStart = System.nanoTime();
+        try {
+            WebDriver driver = spawn.future.get();
+            long waitNanos = System.nanoTime() - waitStart;
+            long spawnNanos = spawn.finishedNanos - spawn.startNanos;
+
+            ExecutionMetrics.increment(METRIC_CLAIMED);
+            ExecutionMetrics.recordNanos(METRIC_HANDOVER_WAIT, waitNanos);
+            ExecutionMetrics.recordNanos(METRIC_HIDDEN, Math.max(0, spawnNanos - waitNanos));
+            return driver;
+        } catch (ExecutionException e) {
+            ExecutionMetrics.increment(METRIC_FAILED);
+            logger.warn("Pre-spawned session failed, a new one will be created: {}", e.getCause().getMessage());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            slots.release();
+        }
+    }
+
+    /**
+     * Quits every session that was spawned but never claimed
+     */
+    public void shutdown() {
+        Spawn spawn;
+        while ((spawn = spawns.poll()) != null) {
+            try {
+                spawn.future.get().quit();
+            } catch (Exception e) {
+                logger.debug("Error closing unclaimed pre-spawned session: {}", e.getMessage());
+            }
+        }
+        executor.shutdownNow();
+    }
+}
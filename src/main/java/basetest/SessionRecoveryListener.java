@@ -0,0 +1,67 @@
+package basetest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IAnnotationTransformer;
+import org.testng.IRetryAnalyzer;
+import org.testng.ITestResult;
+import org.testng.annotations.ITestAnnotation;
+import org.testng.internal.annotations.DisabledRetryAnalyzer;
+import utils.ConfigReader;
+import utils.ExecutionMetrics;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+
+/**
+ * Retries a test on a fresh session when it failed because the browser crashed.
+ * Attaches {@link CrashRetryAnalyzer} to every test that does not declare its own retry analyzer.
+ * Must be registered in testng.xml: TestNG only applies annotation transformers declared there.
+ */
+public class SessionRecoveryListener implements IAnnotationTransformer {
+
+    public static final String METRIC_RETRIED = "driver.session.retried";
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public void transform(ITestAnnotation annotation, Class testClass, Constructor testConstructor, Method testMethod) {
+        if (!declaresRetryAnalyzer(annotation)) {
+            annotation.setRetryAnalyzer(CrashRetryAnalyzer.class);
+        }
+    }
+
+    /**
+     * Relies on TestNG 7.x internals: a test without retryAnalyzer reports DisabledRetryAnalyzer
+     * (org.testng.internal.annotations). Revisit this check when upgrading TestNG.
+     */
+    private static boolean declaresRetryAnalyzer(ITestAnnotation annotation) {
+        Class<? extends IRetryAnalyzer> declared = annotation.getRetryAnalyzerClass();
+        return declared != null && declared != DisabledRetryAnalyzer.class;
+    }
+
+    /**
+     * Retries only browser crashes (see {@link SessionSupervisor#isCrash}), never assertion or page failures.
+     * The crash itself is counted by BaseTest.tearDown when the heartbeat confirms the session is dead.
+     */
+    public static class CrashRetryAnalyzer implements IRetryAnalyzer {
+        private static final Logger logger = LoggerFactory.getLogger(CrashRetryAnalyzer.class);
+
+        private int retries;
+
+        @Override
+        public boolean retry(ITestResult result) {
+            if (!SessionSupervisor.isCrash(result.getThrowable())) {
+                return false;
+            }
+            if (retries >= ConfigReader.getSessionCrashRetries()) {
+                logger.error("Browser crashed in {}, no retries left", result.getMethod().getMethodName());
+                return false;
+            }
+            retries++;
+            ExecutionMetrics.increment(METRIC_RETRIED);
+            logger.warn("Browser crashed in {}, retrying on a fresh session ({}/{})",
+                    result.getMethod().getMethodName(), retries, ConfigReader.getSessionCrashRetries());
+            return true;
+        }
+    }
+}
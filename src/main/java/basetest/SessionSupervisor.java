@@ -0,0 +1,192 @@
+package basetest;
+
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.ConfigReader;
+import utils.ExecutionMetrics;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Detects dead or unresponsive browser sessions and replaces them.
+ * A heartbeat sends a cheap command (getWindowHandle) with its own timeout, so a hung
+ * browser is detected in seconds instead of blocking until the WebDriver HTTP timeout.
+ * Crashes are counted per browser as "driver.crash.&lt;browser&gt;".
+ */
+public class SessionSupervisor {
+    private static final Logger logger = LoggerFactory.getLogger(SessionSupervisor.class);
+
+    // Metric names
+    public static final String METRIC_CRASH_PREFIX = "driver.crash.";
+    public static final String METRIC_REPLACED = "driver.session.replaced";
+    public static final String METRIC_HEARTBEAT = "driver.session.heartbeat";
+
+    // Full driver phrases for a browser process or session that is gone. Fragments such as "not reachable" or
+    // "disconnected" are not enough: page errors use them too ("Element <input> is not reachable by keyboard").
+    // A bare "session not created" is left out as well: it also covers driver/browser version mismatches and
+    // bad capabilities, which are not crashes. Only the launch-crash variants of it are listed.
+    private static final String[] CRASH_MESSAGES = {
+            "invalid session id", "session deleted because of page crash",
+            "chrome not reachable", "disconnected: not connected to devtools",
+            "disconnected: unable to receive message from renderer",
+            "disconnected: received inspector.detached event",
+            "target crashed", "tab crashed", "browser has closed",
+            "failed to decode response from marionette",
+            "tried to run command without establishing a connection",
+            "chrome failed to start", "msedge failed to start", "devtoolsactiveport"
+    };
+
+    private static final ExecutorService heartbeatExecutor = Executors.newCachedThreadPool(new ThreadFactory() {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "session-heartbeat-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    private SessionSupervisor() {
+    }
+
+    /**
+     * Sends the heartbeat command and waits at most the configured heartbeat timeout
+     *
+     * @return true when the browser answered in time
+     */
+    public static boolean isAlive(WebDriver driver) {
+        return isAlive(driver, Duration.ofSeconds(ConfigReader.getSessionHeartbeatTimeout()));
+    }
+
+    public static boolean isAlive(WebDriver driver, Duration timeout) {
+        if (driver == null) {
+            return false;
+        }
+        long start = System.nanoTime();
+        Future<String> heartbeat = heartbeatExecutor.submit(driver::getWindowHandle);
+        try {
+            heartbeat.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            heartbeat.cancel(true);
+            logger.warn("Session did not answer the heartbeat within {} ms", timeout.toMillis());
+            return false;
+        } catch (ExecutionException e) {
+            logger.warn("Session heartbeat failed: {}", firstLine(e.getCause()));
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            ExecutionMetrics.recordSince(METRIC_HEARTBEAT, start);
+        }
+    }
+
+    /**
+     * Returns a session that answers the heartbeat, replacing dead ones.
+     * Dead sessions are counted as crashes and handed to {@code discard} for cleanup.
+     *
+     * @param factory Acquires a session (pool lease, pre-spawned or new)
+     * @param discard Releases a dead session without reusing it
+     */
+    public static WebDriver acquireHealthy(Supplier<WebDriver> factory, Consumer<WebDriver> discard) {
+        if (!ConfigReader.isSessionSupervisionEnabled()) {
+            return factory.get();
+        }
+
+        String browser = ConfigReader.getBrowser();
+        int attempts = Math.max(1, ConfigReader.getSessionRecoveryAttempts() + 1);
+        for (int attempt = 1; ; attempt++) {
+            WebDriver driver;
+            try {
+                driver = factory.get();
+            } catch (WebDriverException e) {
+                // Browsers that crash while launching are replaced too; configuration errors are not
+                if (!isCrash(e) || attempt >= attempts) {
+                    throw e;
+                }
+                recordCrash(browser);
+                logger.warn("{} session failed to start: {}. Retrying ({}/{})",
+                        browser, firstLine(e), attempt + 1, attempts);
+                continue;
+            }
+
+            if (isAlive(driver)) {
+                return driver;
+            }
+            recordCrash(browser);
+            discardQuietly(driver, discard);
+            if (attempt >= attempts) {
+                throw new SessionNotCreatedException("No healthy " + browser + " session after " + attempts + " attempts");
+            }
+            ExecutionMetrics.increment(METRIC_REPLACED);
+            logger.warn("Replacing dead {} session (attempt {}/{})", browser, attempt + 1, attempts);
+        }
+    }
+
+    /**
+     * Whether the failure means the browser session died, as opposed to a test or page problem
+     */
+    public static boolean isCrash(Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            // The driver process itself refused the HTTP connection
+            if (cause instanceof NoSuchSessionException || cause instanceof UnreachableBrowserException
+                    || cause instanceof ConnectException) {
+                return true;
+            }
+            if (cause instanceof WebDriverException && cause.getMessage() != null) {
+                String message = cause.getMessage().toLowerCase(Locale.ROOT);
+                for (String crashMessage : CRASH_MESSAGES) {
+                    if (message.contains(crashMessage)) {
+                        return true;
+                    }
+                }
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    public static void recordCrash(String browser) {
+        ExecutionMetrics.increment(METRIC_CRASH_PREFIX + browser.toLowerCase(Locale.ROOT));
+    }
+
+    public static long getCrashCount(String browser) {
+        return ExecutionMetrics.getCount(METRIC_CRASH_PREFIX + browser.toLowerCase(Locale.ROOT));
+    }
+
+    private static void discardQuietly(WebDriver driver, Consumer<WebDriver> discard) {
+        try {
+            discard.accept(driver);
+        } catch (Exception e) {
+            logger.debug("Error discarding dead session: {}", firstLine(e));
+        }
+    }
+
+    private static String firstLine(Throwable throwable) {
+        if (throwable == null || throwable.getMessage() == null) {
+            return String.valueOf(throwable);
+        }
+        return throwable.getMessage().split("\n", 2)[0];
+    }
+}
@@ -0,0 +1,141 @@
+package data;
+
+import exceptions.SignupFailedException;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.ConfigReader;
+import utils.ExecutionMetrics;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Crea y elimina cuentas de prueba vía HTTP usando los endpoints públicos del sitio
+ * (/api/createAccount, /api/deleteAccount, /api/verifyLogin), sin pasar por la UI.
+ * Usa un único HttpClient compartido (reutiliza conexiones y es seguro entre hilos).
+ */
+public class AccountSeeder {
+    private static final Logger logger = LoggerFactory.getLogger(AccountSeeder.class);
+
+    private static final Json JSON = new Json();
+    private static final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+
+    /**
+     * Resultado de una llamada a la API (el sitio devuelve el código real dentro del JSON)
+     */
+    public static class ApiResponse {
+        private final int responseCode;
+        private final String message;
+
+        public ApiResponse(int responseCode, String message) {
+            this.responseCode = responseCode;
+            this.message = message;
+        }
+
+        public int getResponseCode() {
+            return responseCode;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return responseCode + " " + message;
+        }
+    }
+
+    /**
+     * Crea la cuenta vía API
+     * @throws SignupFailedException si el servidor rechaza la creación
+     */
+    public static UserAccount createAccount(UserAccount account) {
+        ApiResponse response = call("POST", "/api/createAccount", account.toApiForm(), "seed.createAccount");
+        if (response.getResponseCode() != 201) {
+            throw new SignupFailedException("No se pudo crear la cuenta " + account + " vía API: " + response);
+        }
+        logger.info("Seeded account {}", account);
+        return account;
+    }
+
+    /**
+     * Garantiza que la cuenta exista: la crea o acepta que ya exista con esas credenciales
+     */
+    public static UserAccount ensureAccount(UserAccount account) {
+        if (accountExists(account.getCredentials())) {
+            return account;
+        }
+        return createAccount(account);
+    }
+
+    /**
+     * Elimina la cuenta vía API. Pensado para limpieza, por eso no lanza excepción si no existe.
+     * @return true si la cuenta fue eliminada
+     */
+    public static boolean deleteAccount(UserCredentials credentials) {
+        Map<String, String> form = Map.of("email", credentials.getEmail(), "password", credentials.getPassword());
+        ApiResponse response = call("DELETE", "/api/deleteAccount", form, "seed.deleteAccount");
+        if (response.getResponseCode() != 200) {
+            logger.warn("Account {} was not deleted: {}", credentials, response);
+            return false;
+        }
+        return true;
+    }
+
+    public static boolean accountExists(UserCredentials credentials) {
+        Map<String, String> form = Map.of("email", credentials.getEmail(), "password", credentials.getPassword());
+        return call("POST", "/api/verifyLogin", form, "seed.verifyLogin").getResponseCode() == 200;
+    }
+
+    private static ApiResponse call(String method, String path, Map<String, String> form, String metricName) {
+        String body = form.entrySet().stream()
+                .map(e -> encode(e.getKey()) + "=" + encode(e.getValue()))
+                .collect(Collectors.joining("&"));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(ConfigReader.getApiBaseUrl() + path))
+                .timeout(Duration.ofSeconds(ConfigReader.getTimeout() * 3L))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            return parse(response.body());
+        } catch (IOException e) {
+            throw new IllegalStateException("Error calling " + method + " " + path + ": " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted calling " + method + " " + path, e);
+        } finally {
+            ExecutionMetrics.recordSince(metricName, start);
+        }
+    }
+
+    private static ApiResponse parse(String body) {
+        try {
+            Map<String, Object> json = JSON.toType(body, Json.MAP_TYPE);
+            Object code = json.get("responseCode");
+            return new ApiResponse(code instanceof Number ? ((Number) code).intValue() : -1,
+                    String.valueOf(json.get("message")));
+        } catch (Exception e) {
+            return new ApiResponse(-1, "Respuesta no reconocida: " + body);
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value == null ? "" : value, StandardCharsets.UTF_8);
+    }
+}
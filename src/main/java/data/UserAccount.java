@@ -0,0 +1,191 @@
+package data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Datos completos de una cuenta de usuario (los mismos campos del formulario Create Account)
+ * Se construye con valores por defecto y se personaliza con los métodos with* encadenables.
+ */
+public class UserAccount {
+
+    private String name;
+    private String email;
+    private String password;
+    private String title = "Mr";
+    private String birthDay = "17";
+    private String birthMonth = "11";
+    private String birthYear = "2010";
+    private String firstName = "Mateo";
+    private String lastName = "Castillo";
+    private String company = "SQA";
+    private String address1 = "Santo cura 31";
+    private String address2 = "Santo Domingo, Republica Dominicana";
+    private String country = "Canada";
+    private String state = "QA";
+    private String city = "Santo Domingo";
+    private String zipcode = "12000";
+    private String mobileNumber = "829-400-0909";
+
+    public UserAccount(String name, String email, String password) {
+        this.name = name;
+        this.email = email;
+        this.password = password;
+    }
+
+    /**
+     * Cuenta con email único, segura para ejecuciones en paralelo
+     * @param name Nombre de la cuenta
+     * @param password Contraseña
+     */
+    public static UserAccount withUniqueEmail(String name, String password) {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        return new UserAccount(name, "e2e_" + System.currentTimeMillis() + "_" + suffix + "@test.com", password);
+    }
+
+    public UserCredentials getCredentials() {
+        return new UserCredentials(email, password);
+    }
+
+    /**
+     * Campos en el formato que espera el endpoint público /api/createAccount
+     */
+    public Map<String, String> toApiForm() {
+        Map<String, String> form = new LinkedHashMap<>();
+        form.put("name", name);
+        form.put("email", email);
+        form.put("password", password);
+        form.put("title", title);
+        form.put("birth_date", birthDay);
+        form.put("birth_month", birthMonth);
+        form.put("birth_year", birthYear);
+        form.put("firstname", firstName);
+        form.put("lastname", lastName);
+        form.put("company", company);
+        form.put("address1", address1);
+        form.put("address2", address2);
+        form.put("country", country);
+        form.put("zipcode", zipcode);
+        form.put("state", state);
+        form.put("city", city);
+        form.put("mobile_number", mobileNumber);
+        return form;
+    }
+
+    // ==================== Personalización encadenable ====================
+
+    public UserAccount withTitle(String title) {
+        this.title = title;
+        return this;
+    }
+
+    public UserAccount withDateOfBirth(String day, String month, String year) {
+        this.birthDay = day;
+        this.birthMonth = month;
+        this.birthYear = year;
+        return this;
+    }
+
+    public UserAccount withFullName(String firstName, String lastName) {
+        this.firstName = firstName;
+        this.lastName = lastName;
+        return this;
+    }
+
+    public UserAccount withCompany(String company) {
+        this.company = company;
+        return this;
+    }
+
+    public UserAccount withAddress(String address1, String address2, String country, String state,
+                                   String city, String zipcode) {
+        this.address1 = address1;
+        this.address2 = address2;
+        this.country = country;
+        this.state = state;
+        this.city = city;
+        this.zipcode = zipcode;
+        return this;
+    }
+
+    public UserAccount withMobileNumber(String mobileNumber) {
+        this.mobileNumber = mobileNumber;
+        return this;
+    }
+
+    // ==================== Getters ====================
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getBirthDay() {
+        return birthDay;
+    }
+
+    public String getBirthMonth() {
+        return birthMonth;
+    }
+
+    public String getBirthYear() {
+        return birthYear;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getCompany() {
+        return company;
+    }
+
+    public String getAddress1() {
+        return address1;
+    }
+
+    public String getAddress2() {
+        return address2;
+    }
+
+    public String getCountry() {
+        return country;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public String getZipcode() {
+        return zipcode;
+    }
+
+    public String getMobileNumber() {
+        return mobileNumber;
+    }
+
+    @Override
+    public String toString() {
+        return name + " <" + email + ">";
+    }
+}
@@ -0,0 +1,47 @@
+package data;
+
+import java.util.Objects;
+
+/**
+ * Credenciales de login de un usuario de prueba
+ */
+public class UserCredentials {
+
+    private final String email;
+    private final String password;
+
+    public UserCredentials(String email, String password) {
+        if (email == null || password == null) {
+            throw new IllegalArgumentException("email y password no pueden ser null");
+        }
+        this.email = email;
+        this.password = password;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof UserCredentials)) return false;
+        UserCredentials that = (UserCredentials) o;
+        return email.equals(that.email) && password.equals(that.password);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(email, password);
+    }
+
+    @Override
+    public String toString() {
+        // Nunca exponer la contraseña en logs o reportes
+        return email;
+    }
+}
@@ -9,6 +9,10 @@ import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import utils.ConfigReader;
+import utils.NavigationTimer;
+import utils.PageReadiness;
+import utils.WaitPolicy;
 
 import java.time.Duration;
 
@@ -27,7 +31,7 @@ public abstract class BasePage {
             throw new IllegalArgumentException("webdriver no puede ser null. ");
         }
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        this.wait = WaitPolicy.explicitWait(driver, Duration.ofSeconds(10));
     }
 
     public void click(By locator) {
@@ -40,6 +44,11 @@ public abstract class BasePage {
         }
     }
 
+    /**
+     * @deprecated Una pausa fija es lenta cuando la página ya está lista y no alcanza cuando tarda más.
+     * Usar {@link #waitUntilReady()} o una espera explícita sobre el elemento.
+     */
+    @Deprecated
     public static void pause(int seconds) {
         try {
             Thread.sleep(seconds * 1000);
@@ -59,11 +68,11 @@ public abstract class BasePage {
                 throw new RuntimeException("La página debe definir pageUrl, validationLocator y pageName");
             }
 
-            driver.get(pageUrl);
+            NavigationTimer.navigate(driver, pageUrl);
             wait.until(ExpectedConditions.presenceOfElementLocated(validationLocator));
 
-            // Pequeña pausa para asegurar que la página esté completamente cargada
-            Thread.sleep(500);
+            // Esperar a que termine de cargar: sin peticiones pendientes y con el DOM quieto
+            waitUntilReady();
 
             BaseTest.createStep("Navegando a " + pageName, true, true, StepMode.IMMEDIATE);
 
@@ -73,6 +82,15 @@ public abstract class BasePage {
         }
     }
 
+    /**
+     * Espera a que la página esté lista: readyState, sin fetch/XHR pendientes y sin mutaciones del DOM
+     * durante la ventana configurada (page.ready.quiet.ms). Si vence page.ready.timeout.ms se continúa.
+     * @return true si la página quedó lista a tiempo
+     */
+    public boolean waitUntilReady() {
+        return PageReadiness.waitUntilReady(driver, Duration.ofMillis(ConfigReader.getReadinessTimeout()));
+    }
+
     /**
      * MÉTODO SIMPLE: navigateToPage()
      * Solo navega a la URL, sin validaciones ni steps automáticos
@@ -82,7 +100,7 @@ public abstract class BasePage {
             throw new RuntimeException("pageUrl no está definida para " + this.getClass().getSimpleName());
         }
 
-        driver.get(pageUrl);
+        NavigationTimer.navigate(driver, pageUrl);
     }
 
 
@@ -21,7 +21,7 @@ public class AccountCreatedPage extends BasePage {
 
     public AccountCreatedPage(WebDriver driver) {
         super(driver);
-        this.helpers = new WebHelpers(driver);
+        this.helpers = new WebHelpers(driver, getClass().getSimpleName());
     }
 
     /**
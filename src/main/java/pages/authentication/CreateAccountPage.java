@@ -1,11 +1,15 @@
 package pages.authentication;
 
 import basetest.BaseTest;
+import data.UserAccount;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import pages.BasePage;
 import utils.WebHelpers;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import static basetest.BaseTest.StepMode.*;
 import static basetest.BaseTest.BufferAction.*;
 
@@ -46,7 +50,7 @@ public class CreateAccountPage extends BasePage {
      */
     public CreateAccountPage(WebDriver driver) {
         super(driver);
-        this.helpers = new WebHelpers(driver);
+        this.helpers = new WebHelpers(driver, getClass().getSimpleName());
     }
 
 
@@ -277,6 +281,48 @@ public class CreateAccountPage extends BasePage {
         return this;
     }
 
+    /**
+     * Llena todo el formulario de la cuenta (título, password, fecha de nacimiento, nombre, dirección
+     * y teléfono) en un solo viaje al navegador, en lugar de un campo por llamada
+     *
+     * @param account Datos de la cuenta
+     * @return La misma instancia de la página para encadenamiento
+     */
+    public CreateAccountPage fillAccountForm(UserAccount account) {
+        By titleButton;
+        if (account.getTitle().equalsIgnoreCase("Mr.") || account.getTitle().equalsIgnoreCase("Mr")) {
+            titleButton = mrSelectButton;
+        } else if (account.getTitle().equalsIgnoreCase("Mrs.") || account.getTitle().equalsIgnoreCase("Mrs")) {
+            titleButton = mrsSelectButton;
+        } else {
+            BaseTest.processBuffer(COMMIT_MERGED_FAILURE, "Título no válido: " + account.getTitle() + ". Use 'Mr.' o 'Mrs.'", true);
+            throw new IllegalArgumentException("Título no válido: '" + account.getTitle() + "'. Use 'Mr.', 'Mr', 'Mrs.', o 'Mrs'");
+        }
+
+        Map<By, Object> fields = new LinkedHashMap<>();
+        fields.put(titleButton, true);
+        fields.put(passwordField, account.getPassword());
+        // El mes acepta número (value del option) o nombre (texto visible)
+        fields.put(dayDropdown, account.getBirthDay());
+        fields.put(monthDropdown, account.getBirthMonth());
+        fields.put(yearDropdown, account.getBirthYear());
+        fields.put(firstNameInput, account.getFirstName());
+        fields.put(lastNameInput, account.getLastName());
+        fields.put(companyInput, account.getCompany());
+        fields.put(address1Input, account.getAddress1());
+        fields.put(address2Input, account.getAddress2());
+        fields.put(countryInput, account.getCountry());
+        fields.put(stateInput, account.getState());
+        fields.put(cityInput, account.getCity());
+        fields.put(zipcodeInput, account.getZipcode());
+        fields.put(mobileNumberInput, account.getMobileNumber());
+
+        helpers.fillForm(fields, "formulario de cuenta");
+        BaseTest.createStep("Formulario de cuenta completado: " + account.getFirstName() + " " + account.getLastName()
+                + ", " + account.getCity() + ", " + account.getCountry(), true, true, IMMEDIATE);
+        return this;
+    }
+
     /**
      * Click create account button account created page.
      *
@@ -5,9 +5,17 @@
     import org.openqa.selenium.By;
     import pages.BasePage;
     import pages.user.HomePage;
+    import exceptions.InvalidCredentialsException;
+    import exceptions.PageNotLoadedException;
+    import exceptions.SignupFailedException;
+    import utils.ConfigReader;
+    import utils.OutcomeRace;
     import utils.WebHelpers;
 
+    import java.time.Duration;
+
     import static basetest.BaseTest.StepMode.*;
+    import static basetest.BaseTest.BufferAction.*;
 
     public class SignupLoginPage extends BasePage {
 
@@ -27,6 +35,10 @@
 
         private final WebHelpers helpers;
 
+        private enum LoginOutcome { LOGGED_IN, INVALID_CREDENTIALS }
+
+        private enum SignupOutcome { ACCOUNT_FORM, EMAIL_EXISTS }
+
         /**
          * Instantiates a new Signup login page.
          *
@@ -34,7 +46,7 @@
          */
         public SignupLoginPage(WebDriver driver) {
             super(driver);
-            this.helpers = new WebHelpers(driver);
+            this.helpers = new WebHelpers(driver, getClass().getSimpleName());
 
         }
 
@@ -125,9 +137,22 @@
          * @return the create account page
          */
         public CreateAccountPage signupAndVerifySuccess() {
-            //helpers.validateActionResult(signupErrorMessage, enterAccountInfo, 2, "Signup");
-            helpers.validateActionResult(signupErrorMessage, "Signup");
-
+            OutcomeRace.Result<SignupOutcome> result = helpers.<SignupOutcome>newRace()
+                    .whenVisible(SignupOutcome.EMAIL_EXISTS, signupErrorMessage)
+                    .whenVisible(SignupOutcome.ACCOUNT_FORM, enterAccountInfo)
+                    .race(Duration.ofSeconds(ConfigReader.getTimeout()));
+
+            if (result.isTimedOut()) {
+                // Ningún desenlace apareció: la página no respondió, no es un rechazo del formulario
+                String message = "Signup falló: no apareció el formulario de cuenta ni un mensaje de error";
+                BaseTest.processBuffer(COMMIT_MERGED_FAILURE, message, true);
+                throw new PageNotLoadedException(message, driver.getCurrentUrl());
+            }
+            if (!result.is(SignupOutcome.ACCOUNT_FORM)) {
+                String message = "Signup falló: " + result.getText();
+                BaseTest.processBuffer(COMMIT_MERGED_FAILURE, message, true);
+                throw new SignupFailedException(message);
+            }
             BaseTest.createStep("Signup exitoso", true, true, IMMEDIATE);
             return new CreateAccountPage(driver);
         }
@@ -151,10 +176,22 @@
          * @return the home page
          */
         public HomePage loginAndVerifySuccess() {
-            helpers.validateActionResult(loginErrorMessage, 2, "Login");
-//            helpers.validateActionResult(loginErrorMessage, "Login");
-            //helpers.isElementVisible(logoutButton, 2);
-//            helpers.validateActionResult(loginErrorMessage, logoutButton,2,"Login");
+            OutcomeRace.Result<LoginOutcome> result = helpers.<LoginOutcome>newRace()
+                    .whenVisible(LoginOutcome.INVALID_CREDENTIALS, loginErrorMessage)
+                    .whenVisible(LoginOutcome.LOGGED_IN, logoutButton)
+                    .race(Duration.ofSeconds(ConfigReader.getTimeout()));
+
+            if (result.isTimedOut()) {
+                // Ningún desenlace apareció: la página no respondió, no es un rechazo del formulario
+                String message = "Login falló: no apareció la sesión iniciada ni un mensaje de error";
+                BaseTest.processBuffer(COMMIT_MERGED_FAILURE, message, true);
+                throw new PageNotLoadedException(message, driver.getCurrentUrl());
+            }
+            if (!result.is(LoginOutcome.LOGGED_IN)) {
+                String message = "Login falló: " + result.getText();
+                BaseTest.processBuffer(COMMIT_MERGED_FAILURE, message, true);
+                throw new InvalidCredentialsException(message);
+            }
             BaseTest.createStep("Login exitoso", true, true, IMMEDIATE);
             return new HomePage(driver);
         }
@@ -19,7 +19,7 @@ public class ContactUsPage extends BasePage {
     private final WebHelpers helpers;
     public ContactUsPage(WebDriver driver) {
         super(driver);
-        this.helpers = new WebHelpers(driver);
+        this.helpers = new WebHelpers(driver, getClass().getSimpleName());
     }
 
     public ContactUsPage verifylGetInTouchMessage() {
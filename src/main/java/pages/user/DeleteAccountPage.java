@@ -19,7 +19,7 @@ public class DeleteAccountPage extends BasePage {
 
     public DeleteAccountPage(WebDriver driver) {
         super(driver);
-        this.helpers = new WebHelpers(driver);
+        this.helpers = new WebHelpers(driver, getClass().getSimpleName());
     }
 
     /**
@@ -1,15 +1,21 @@
 package pages.user;
 
 import basetest.BaseTest;
+import data.UserCredentials;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import pages.BasePage;
 import pages.contact.ContactUsPage;
 import utils.ConfigReader;
+import utils.DomSnapshot;
+import utils.NavigationTimer;
+import utils.SessionStateCache;
 import utils.WebHelpers;
 import pages.authentication.SignupLoginPage;
 
+import java.net.URI;
+
 import static basetest.BaseTest.StepMode.*;
 import static basetest.BaseTest.BufferAction.*;
 
@@ -34,7 +40,10 @@ public class HomePage extends BasePage {
     /**
      * The Helpers.
      */
-    WebHelpers helpers = new WebHelpers(driver);
+    WebHelpers helpers = new WebHelpers(driver, getClass().getSimpleName());
+
+    // Usuario cuya sesión cacheada está en uso (asLoggedIn): al hacer logout esa sesión deja de servir
+    private UserCredentials cachedSessionUser;
 
 
     /**
@@ -54,7 +63,7 @@ public class HomePage extends BasePage {
      */
     public HomePage navigateToHome() {
         String baseUrl = ConfigReader.getBaseUrl();
-        driver.get(baseUrl);
+        NavigationTimer.navigate(driver, baseUrl);
         wait.until(ExpectedConditions.visibilityOfElementLocated(signupLoginButton));
         BaseTest.createStep("Navegando a la pagina de AutomationExercise", true, true, IMMEDIATE);
         return this;
@@ -66,7 +75,8 @@ public class HomePage extends BasePage {
      * @return the boolean
      */
     public boolean isOnHomePage() {
-        return driver.getCurrentUrl().contains("automationexercise.com") &&
+        String host = URI.create(ConfigReader.getBaseUrl()).getHost();
+        return driver.getCurrentUrl().contains(host) &&
                 helpers.isElementVisible(signupLoginButton, 5);
     }
 
@@ -95,6 +105,46 @@ public class HomePage extends BasePage {
         return new SignupLoginPage(driver);
     }
 
+    /**
+     * Deja al usuario logueado reutilizando una sesión cacheada (cookies + web storage).
+     * Si no hay sesión cacheada o el servidor la rechaza, hace el login por UI y cachea la nueva sesión.
+     *
+     * @param user las credenciales del usuario
+     * @return the home page
+     */
+    public HomePage asLoggedIn(UserCredentials user) {
+        String baseUrl = ConfigReader.getBaseUrl();
+        SessionStateCache.SessionSnapshot snapshot = SessionStateCache.get(user);
+
+        if (snapshot != null) {
+            if (!driver.getCurrentUrl().startsWith(snapshot.getOrigin())) {
+                NavigationTimer.navigate(driver, snapshot.getOrigin());
+            }
+            SessionStateCache.restore(driver, snapshot);
+            NavigationTimer.navigate(driver, baseUrl);
+
+            if (helpers.isElementVisible(logoutButton, 3)) {
+                BaseTest.createStep("Sesión restaurada desde caché para: " + user, true, true, IMMEDIATE);
+                cachedSessionUser = user;
+                return this;
+            }
+            SessionStateCache.markRejected(user);
+            driver.manage().deleteAllCookies();
+            NavigationTimer.navigate(driver, baseUrl);
+        }
+
+        HomePage homePage = clickSignupLogin()
+                .verifyloginToYouAccountIsVisible()
+                .fillLoginEmail(user.getEmail())
+                .fillLoginPass(user.getPassword())
+                .clickLoginButton()
+                .loginAndVerifySuccess()
+                .verifyUserIsLoggedIn();
+        SessionStateCache.store(user, SessionStateCache.capture(driver, baseUrl));
+        homePage.cachedSessionUser = user;
+        return homePage;
+    }
+
     /**
      * Is product visible boolean.
      *
@@ -114,8 +164,8 @@ public class HomePage extends BasePage {
      * @return the home page
      */
     public HomePage verifyUserIsLoggedInPage(String expectedUsername) {
-        helpers.waitForElementToAppear(loggedInMessage, 5);
-        String loggedInText = helpers.getElementText(loggedInMessage);
+        String loggedInText = helpers.waitForSnapshot(s -> s.isVisible(loggedInMessage), 5, loggedInMessage)
+                .getText(loggedInMessage);
 
         if (loggedInText.contains(expectedUsername)) {
             BaseTest.createStep("Usuario logueado correctamente como: " + expectedUsername, true, true, IMMEDIATE);
@@ -161,6 +211,11 @@ public class HomePage extends BasePage {
      */
     public SignupLoginPage clickLogout() {
         helpers.clickElement(logoutButton, "botón Logout");
+        if (cachedSessionUser != null) {
+            // El logout cierra la sesión en el servidor: el snapshot cacheado ya no es válido
+            SessionStateCache.invalidate(cachedSessionUser);
+            cachedSessionUser = null;
+        }
         BaseTest.createStep("Haciendo clic en Logout", true, true, IMMEDIATE);
         return new SignupLoginPage(driver); // Retorna a HomePage sin login
     }
@@ -190,9 +245,15 @@ public class HomePage extends BasePage {
      * @return the home page
      */
     public HomePage verifyLoggedInOptionsAreAvailable() {
-        helpers.waitForElementToAppear(logoutButton, 5);
-        helpers.waitForElementToAppear(deleteAccountButton, 5);
-        BaseTest.createStep("Verificando que las opciones de usuario logueado están disponibles", true, true, IMMEDIATE);
+        DomSnapshot state = helpers.waitForSnapshot(s -> s.allVisible(logoutButton, deleteAccountButton), 5,
+                logoutButton, deleteAccountButton);
+
+        if (state.allVisible(logoutButton, deleteAccountButton)) {
+            BaseTest.createStep("Verificando que las opciones de usuario logueado están disponibles", true, true, IMMEDIATE);
+        } else {
+            BaseTest.processBuffer(COMMIT_MERGED_FAILURE,
+                    "Opciones de usuario logueado no disponibles: " + state, true);
+        }
         return this;
     }
 
@@ -233,9 +294,17 @@ public class HomePage extends BasePage {
      * @return the home page
      */
     public HomePage verifyUserLoggedOutState() {
-        verifyUserIsNotLoggedIn();
-        verifyGuestUserOptions();
-        BaseTest.createStep("Verificación completa: usuario deslogueado correctamente", true, true, IMMEDIATE);
+        // Sin mensaje "Logged in as" ni Logout, y con Signup/Login visible: todo en cada sondeo
+        DomSnapshot state = helpers.waitForSnapshot(
+                s -> s.noneVisible(loggedInMessage, logoutButton) && s.isVisible(signupLoginButton), 5,
+                loggedInMessage, logoutButton, signupLoginButton);
+
+        if (state.noneVisible(loggedInMessage, logoutButton) && state.isVisible(signupLoginButton)) {
+            BaseTest.createStep("Verificación completa: usuario deslogueado correctamente", true, true, IMMEDIATE);
+        } else {
+            BaseTest.processBuffer(COMMIT_MERGED_FAILURE,
+                    "ERROR: El usuario no quedó deslogueado: " + state, true);
+        }
         return this;
     }
 
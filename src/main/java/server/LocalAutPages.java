@@ -0,0 +1,192 @@
+package server;
+
+import java.util.Map;
+
+/**
+ * Plantillas HTML de la réplica local de automationexercise.com
+ * Solo reproducen la estructura y los textos que usan los page objects (ids, data-qa, títulos).
+ */
+class LocalAutPages {
+
+    private static final String[] MONTHS = {"January", "February", "March", "April", "May", "June",
+            "July", "August", "September", "October", "November", "December"};
+    private static final String[] COUNTRIES = {"India", "United States", "Canada", "Australia",
+            "Israel", "New Zealand", "Singapore"};
+
+    private LocalAutPages() {
+    }
+
+    static String home(String loggedInName) {
+        return layout("Automation Exercise", loggedInName,
+                "<section><div class='features_items'><h2 class='title text-center'>Features Items</h2>" +
+                product("Blue Top", "Rs. 500") +
+                product("Men Tshirt", "Rs. 400") +
+                product("Sleeveless Dress", "Rs. 1000") +
+                "</div></section>");
+    }
+
+    static String products(String loggedInName) {
+        return layout("Automation Exercise - All Products", loggedInName,
+                "<section><h2 class='title text-center'>All Products</h2>" +
+                product("Blue Top", "Rs. 500") +
+                product("Men Tshirt", "Rs. 400") +
+                "</section>");
+    }
+
+    /**
+     * Página de Signup / Login, opcionalmente con el error de login o de signup
+     */
+    static String login(String loginError, String signupError) {
+        return layout("Automation Exercise - Signup / Login", null,
+                "<section id='form'><div class='container'><div class='row'>" +
+                "<div class='col-sm-4 col-sm-offset-1'><div class='login-form'>" +
+                "<h2>Login to your account</h2>" +
+                "<form action='/login' method='POST'>" +
+                "<input type='email' data-qa='login-email' placeholder='Email Address' name='email' required/>" +
+                "<input type='password' data-qa='login-password' placeholder='Password' name='password' required/>" +
+                (loginError != null ? "<p style='color: red;'>" + escape(loginError) + "</p>" : "") +
+                "<button type='submit' class='btn btn-default' data-qa='login-button'>Login</button>" +
+                "</form></div></div>" +
+                "<div class='col-sm-1'><h2 class='or'>OR</h2></div>" +
+                "<div class='col-sm-4'><div class='signup-form'>" +
+                "<h2>New User Signup!</h2>" +
+                "<form action='/signup' method='POST'>" +
+                "<input type='text' data-qa='signup-name' placeholder='Name' name='name' required/>" +
+                "<input type='email' data-qa='signup-email' placeholder='Email Address' name='email' required/>" +
+                (signupError != null ? "<p style='color: red;'>" + escape(signupError) + "</p>" : "") +
+                "<button type='submit' class='btn btn-default' data-qa='signup-button'>Signup</button>" +
+                "</form></div></div>" +
+                "</div></div></section>");
+    }
+
+    /**
+     * Formulario "Enter Account Information" con nombre y email de la etapa de signup
+     */
+    static String signupForm(String name, String email) {
+        StringBuilder days = new StringBuilder("<option value=''>Day</option>");
+        for (int day = 1; day <= 31; day++) {
+            days.append("<option value='").append(day).append("'>").append(day).append("</option>");
+        }
+        StringBuilder months = new StringBuilder("<option value=''>Month</option>");
+        for (int month = 0; month < MONTHS.length; month++) {
+            months.append("<option value='").append(month + 1).append("'>").append(MONTHS[month]).append("</option>");
+        }
+        StringBuilder years = new StringBuilder("<option value=''>Year</option>");
+        for (int year = 2021; year >= 1900; year--) {
+            years.append("<option value='").append(year).append("'>").append(year).append("</option>");
+        }
+        StringBuilder countries = new StringBuilder();
+        for (String country : COUNTRIES) {
+            countries.append("<option value='").append(country).append("'>").append(country).append("</option>");
+        }
+
+        return layout("Automation Exercise - Signup", null,
+                "<section id='form'><div class='login-form'>" +
+                "<h2 class='title text-center'><b>Enter Account Information</b></h2>" +
+                "<form action='/create_account' method='POST'>" +
+                "<div class='clearfix'><label>Title</label>" +
+                "<div class='radio-inline'><label for='id_gender1'><input type='radio' name='title' value='Mr' id='id_gender1'/>Mr.</label></div>" +
+                "<div class='radio-inline'><label for='id_gender2'><input type='radio' name='title' value='Mrs' id='id_gender2'/>Mrs.</label></div></div>" +
+                "<label for='name'>Name *</label><input type='text' id='name' name='name' data-qa='name' value='" + escape(name) + "' required/>" +
+                "<label for='email'>Email *</label><input type='email' id='email' name='email' data-qa='email' value='" + escape(email) + "' readonly/>" +
+                "<label for='password'>Password *</label><input type='password' id='password' name='password' data-qa='password' required/>" +
+                "<label>Date of Birth</label>" +
+                "<select id='days' name='days' data-qa='days'>" + days + "</select>" +
+                "<select id='months' name='months' data-qa='months'>" + months + "</select>" +
+                "<select id='years' name='years' data-qa='years'>" + years + "</select>" +
+                "<div class='checkbox'><label for='newsletter'><input type='checkbox' name='newsletter' id='newsletter' value='1'/>Sign up for our newsletter!</label></div>" +
+                "<div class='checkbox'><label for='optin'><input type='checkbox' name='optin' id='optin' value='1'/>Receive special offers from our partners!</label></div>" +
+                "<h2 class='title text-center'><b>Address Information</b></h2>" +
+                "<label for='first_name'>First name *</label><input type='text' id='first_name' name='first_name' data-qa='first_name' required/>" +
+                "<label for='last_name'>Last name *</label><input type='text' id='last_name' name='last_name' data-qa='last_name' required/>" +
+                "<label for='company'>Company</label><input type='text' id='company' name='company' data-qa='company'/>" +
+                "<label for='address1'>Address *</label><input type='text' id='address1' name='address1' data-qa='address' required/>" +
+                "<label for='address2'>Address 2</label><input type='text' id='address2' name='address2' data-qa='address2'/>" +
+                "<label for='country'>Country *</label><select id='country' name='country' data-qa='country'>" + countries + "</select>" +
+                "<label for='state'>State *</label><input type='text' id='state' name='state' data-qa='state' required/>" +
+                "<label for='city'>City *</label><input type='text' id='city' name='city' data-qa='city' required/>" +
+                "<label for='zipcode'>Zipcode *</label><input type='text' id='zipcode' name='zipcode' data-qa='zipcode' required/>" +
+                "<label for='mobile_number'>Mobile Number *</label><input type='text' id='mobile_number' name='mobile_number' data-qa='mobile_number' required/>" +
+                "<button type='submit' data-qa='create-account' class='btn btn-default'>Create Account</button>" +
+                "</form></div></section>");
+    }
+
+    static String accountCreated(String loggedInName) {
+        return layout("Automation Exercise - Account Created", loggedInName,
+                "<section id='form'><div class='col-sm-9 col-sm-offset-1'>" +
+                "<h2 data-qa='account-created' class='title text-center'><b>Account Created!</b></h2>" +
+                "<p>Congratulations! Your new account has been successfully created!</p>" +
+                "<p>You can now take advantage of member privileges to enhance your online shopping experience with us.</p>" +
+                "<div class='pull-right'><a href='/' class='btn btn-primary' data-qa='continue-button'>Continue</a></div>" +
+                "</div></section>");
+    }
+
+    static String accountDeleted() {
+        return layout("Automation Exercise - Account Deleted", null,
+                "<section id='form'><div class='col-sm-9 col-sm-offset-1'>" +
+                "<h2 data-qa='account-deleted' class='title text-center'><b>Account Deleted!</b></h2>" +
+                "<p>Your account has been permanently deleted!</p>" +
+                "<p>You can create new account to take advantage of member privileges to enhance your online shopping experience with us.</p>" +
+                "<div class='pull-right'><a href='/' class='btn btn-primary' data-qa='continue-button'>Continue</a></div>" +
+                "</div></section>");
+    }
+
+    static String contactUs(String loggedInName) {
+        return layout("Automation Exercise - Contact Us", loggedInName,
+                "<div id='contact-page' class='container'><div class='contact-form'>" +
+                "<h2 class='title text-center'>Get In Touch</h2>" +
+                "<form id='contact-us-form' method='POST' action='/contact_us'>" +
+                "<input type='text' data-qa='name' name='name' placeholder='Name'/>" +
+                "<input type='email' data-qa='email' name='email' placeholder='Email'/>" +
+                "<input type='text' data-qa='subject' name='subject' placeholder='Subject'/>" +
+                "<textarea data-qa='message' name='message' placeholder='Your Message Here'></textarea>" +
+                "<input type='submit' data-qa='submit-button' name='submit' value='Submit'/>" +
+                "</form></div></div>");
+    }
+
+    static String notFound(String path) {
+        return layout("Automation Exercise - Not Found", null, "<h2>Page not found: " + escape(path) + "</h2>");
+    }
+
+    static String json(Map<String, Object> values) {
+        StringBuilder json = new StringBuilder("{");
+        values.forEach((key, value) -> {
+            if (json.length() > 1) json.append(", ");
+            json.append('"').append(key).append("\": ");
+            json.append(value instanceof Number ? value.toString() : "\"" + value + "\"");
+        });
+        return json.append('}').toString();
+    }
+
+    // ==================== Estructura común ====================
+
+    private static String layout(String title, String loggedInName, String content) {
+        boolean loggedIn = loggedInName != null;
+        return "<!DOCTYPE html><html lang='en'><head><meta charset='utf-8'><title>" + title + "</title></head><body>" +
+                "<header id='header'><div class='header-middle'><div class='shop-menu pull-right'><ul class='nav navbar-nav'>" +
+                "<li><a href='/'><i class='fa fa-home'></i> Home</a></li>" +
+                "<li><a href='/products'><i class='card_travel'></i> Products</a></li>" +
+                (loggedIn
+                        ? "<li><a href='/logout'><i class='fa fa-lock'></i> Logout</a></li>" +
+                          "<li><a href='/delete_account'><i class='fa fa-trash-o'></i> Delete Account</a></li>"
+                        : "<li><a href='/login'><i class='fa fa-lock'></i> Signup / Login</a></li>") +
+                "<li><a href='/contact_us'><i class='fa fa-envelope'></i> Contact us</a></li>" +
+                (loggedIn ? "<li><a><i class='fa fa-user'></i> Logged in as <b>" + escape(loggedInName) + "</b></a></li>" : "") +
+                "</ul></div></div></header>" +
+                content +
+                "<footer id='footer'><p>Copyright © 2021 All rights reserved</p></footer>" +
+                "</body></html>";
+    }
+
+    private static String product(String name, String price) {
+        return "<div class='col-sm-4'><div class='product-image-wrapper'><div class='single-products'>" +
+                "<div class='productinfo text-center'><h2>" + price + "</h2><p>" + name + "</p>" +
+                "<a href='#' class='btn btn-default add-to-cart'>Add to cart</a></div></div></div></div>";
+    }
+
+    static String escape(String value) {
+        if (value == null) return "";
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;")
+                .replace("'", "&#39;").replace("\"", "&quot;");
+    }
+}
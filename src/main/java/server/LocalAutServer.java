@@ -0,0 +1,365 @@
+package server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.ConfigReader;
+import utils.ExecutionMetrics;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Réplica local de automationexercise.com para ejecutar la suite sin red y de forma reproducible.
+ * Sirve las páginas que usan los page objects (home, signup/login, create account, account created,
+ * account deleted, contact us) y la API de cuentas que usa AccountSeeder, con estado en memoria.
+ * Se activa con base.url=local; la latencia de cada respuesta se puede inyectar por configuración.
+ */
+public class LocalAutServer {
+    private static final Logger logger = LoggerFactory.getLogger(LocalAutServer.class);
+
+    public static final String LOCAL_BASE_URL = "local";
+    public static final String METRIC_REQUEST = "local.server.request";
+
+    private static final String SESSION_COOKIE = "sessionid";
+
+    private static LocalAutServer instance;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final int latencyMillis;
+    private final int jitterMillis;
+
+    private final Map<String, Account> accounts = new ConcurrentHashMap<>();
+    private final Map<String, String> sessions = new ConcurrentHashMap<>();
+
+    private static class Account {
+        private final String name;
+        private final String email;
+        private final String password;
+
+        private Account(String name, String email, String password) {
+            this.name = name;
+            this.email = email;
+            this.password = password;
+        }
+    }
+
+    private LocalAutServer(int port, int latencyMillis, int jitterMillis) throws IOException {
+        this.latencyMillis = Math.max(0, latencyMillis);
+        this.jitterMillis = Math.max(0, jitterMillis);
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "local-aut-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    /**
+     * Indica si la configuración pide la réplica local (base.url=local)
+     */
+    public static boolean isRequested() {
+        return LOCAL_BASE_URL.equalsIgnoreCase(ConfigReader.getProperty("base.url", ""));
+    }
+
+    /**
+     * Arranca el servidor (una sola vez por JVM) y apunta base.url a su dirección real,
+     * para que ConfigReader, la navegación y AccountSeeder lo usen sin cambios.
+     * @return URL base del servidor, por ejemplo http://127.0.0.1:51234
+     */
+    public static synchronized String start() {
+        if (instance != null) {
+            return instance.getBaseUrl();
+        }
+        try {
+            instance = new LocalAutServer(ConfigReader.getLocalServerPort(),
+                    ConfigReader.getLocalServerLatency(), ConfigReader.getLocalServerLatencyJitter());
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start local AUT server: " + e.getMessage(), e);
+        }
+        instance.server.start();
+
+        String baseUrl = instance.getBaseUrl();
+        System.setProperty("base.url", baseUrl);
+        logger.info("Local AUT server started at {} (latency {} ms ± {} ms)",
+                baseUrl, instance.latencyMillis, instance.jitterMillis);
+        return baseUrl;
+    }
+
+    public static synchronized void stop() {
+        if (instance == null) {
+            return;
+        }
+        instance.server.stop(0);
+        instance.executor.shutdownNow();
+        logger.info("Local AUT server stopped, requests: {}", ExecutionMetrics.getTimer(METRIC_REQUEST));
+        instance = null;
+    }
+
+    public String getBaseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    // ==================== Enrutado ====================
+
+    private void handle(HttpExchange exchange) throws IOException {
+        long start = System.nanoTime();
+        try {
+            injectLatency();
+            String method = exchange.getRequestMethod().toUpperCase();
+            String path = exchange.getRequestURI().getPath();
+            Map<String, String> form = readForm(exchange);
+
+            if (path.startsWith("/api/")) {
+                handleApi(exchange, method, path, form);
+                return;
+            }
+
+            Account user = currentUser(exchange);
+            String userName = user != null ? user.name : null;
+            switch (path) {
+                case "/":
+                    sendHtml(exchange, 200, LocalAutPages.home(userName));
+                    break;
+                case "/products":
+                    sendHtml(exchange, 200, LocalAutPages.products(userName));
+                    break;
+                case "/contact_us":
+                    sendHtml(exchange, 200, LocalAutPages.contactUs(userName));
+                    break;
+                case "/login":
+                    if ("POST".equals(method)) {
+                        handleLogin(exchange, form);
+                    } else {
+                        sendHtml(exchange, 200, LocalAutPages.login(null, null));
+                    }
+                    break;
+                case "/signup":
+                    handleSignup(exchange, form);
+                    break;
+                case "/create_account":
+                    handleCreateAccount(exchange, form);
+                    break;
+                case "/account_created":
+                    sendHtml(exchange, 200, LocalAutPages.accountCreated(userName));
+                    break;
+                case "/logout":
+                    endSession(exchange);
+                    redirect(exchange, "/login");
+                    break;
+                case "/delete_account":
+                    if (user != null) {
+                        accounts.remove(key(user.email));
+                    }
+                    endSession(exchange);
+                    sendHtml(exchange, 200, LocalAutPages.accountDeleted());
+                    break;
+                default:
+                    sendHtml(exchange, 404, LocalAutPages.notFound(path));
+            }
+        } catch (Exception e) {
+            logger.error("Local AUT server failed on {}: {}", exchange.getRequestURI(), e.getMessage(), e);
+            if (exchange.getResponseCode() == -1) {
+                sendHtml(exchange, 500, LocalAutPages.notFound(exchange.getRequestURI().getPath()));
+            }
+        } finally {
+            exchange.close();
+            ExecutionMetrics.recordSince(METRIC_REQUEST, start);
+        }
+    }
+
+    private void handleLogin(HttpExchange exchange, Map<String, String> form) throws IOException {
+        Account account = authenticate(form.get("email"), form.get("password"));
+        if (account == null) {
+            sendHtml(exchange, 200, LocalAutPages.login("Your email or password is incorrect!", null));
+            return;
+        }
+        startSession(exchange, account);
+        redirect(exchange, "/");
+    }
+
+    private void handleSignup(HttpExchange exchange, Map<String, String> form) throws IOException {
+        String email = form.getOrDefault("email", "");
+        if (email.isEmpty() || accounts.containsKey(key(email))) {
+            sendHtml(exchange, 200, LocalAutPages.login(null, "Email Address already exist!"));
+            return;
+        }
+        sendHtml(exchange, 200, LocalAutPages.signupForm(form.getOrDefault("name", ""), email));
+    }
+
+    private void handleCreateAccount(HttpExchange exchange, Map<String, String> form) throws IOException {
+        String email = form.getOrDefault("email", "");
+        Account account = new Account(form.getOrDefault("name", ""), email, form.getOrDefault("password", ""));
+        if (email.isEmpty() || accounts.putIfAbsent(key(email), account) != null) {
+            sendHtml(exchange, 200, LocalAutPages.login(null, "Email Address already exist!"));
+            return;
+        }
+        startSession(exchange, account);
+        redirect(exchange, "/account_created");
+    }
+
+    /**
+     * Mismo contrato que la API pública: HTTP 200 siempre, con el código real en "responseCode"
+     */
+    private void handleApi(HttpExchange exchange, String method, String path, Map<String, String> form) throws IOException {
+        String email = form.getOrDefault("email", "");
+        switch (method + " " + path) {
+            case "POST /api/createAccount":
+                if (email.isEmpty() || form.getOrDefault("password", "").isEmpty()) {
+                    sendApi(exchange, 400, "Bad request, email or password parameter is missing in POST request.");
+                } else if (accounts.putIfAbsent(key(email),
+                        new Account(form.getOrDefault("name", ""), email, form.get("password"))) != null) {
+                    sendApi(exchange, 400, "Email already exists!");
+                } else {
+                    sendApi(exchange, 201, "User created!");
+                }
+                break;
+            case "DELETE /api/deleteAccount":
+                if (authenticate(email, form.get("password")) == null) {
+                    sendApi(exchange, 404, "Account not found!");
+                } else {
+                    accounts.remove(key(email));
+                    sendApi(exchange, 200, "Account deleted!");
+                }
+                break;
+            case "POST /api/verifyLogin":
+                if (authenticate(email, form.get("password")) == null) {
+                    sendApi(exchange, 404, "User not found!");
+                } else {
+                    sendApi(exchange, 200, "User exists!");
+                }
+                break;
+            default:
+                sendApi(exchange, 405, "This request method is not supported.");
+        }
+    }
+
+    // ==================== Estado ====================
+
+    private Account authenticate(String email, String password) {
+        if (email == null || password == null) {
+            return null;
+        }
+        Account account = accounts.get(key(email));
+        return account != null && account.password.equals(password) ? account : null;
+    }
+
+    private Account currentUser(HttpExchange exchange) {
+        String sessionId = readCookie(exchange, SESSION_COOKIE);
+        if (sessionId == null) {
+            return null;
+        }
+        String email = sessions.get(sessionId);
+        return email == null ? null : accounts.get(key(email));
+    }
+
+    private void startSession(HttpExchange exchange, Account account) {
+        String sessionId = UUID.randomUUID().toString();
+        sessions.put(sessionId, account.email);
+        exchange.getResponseHeaders().add("Set-Cookie", SESSION_COOKIE + "=" + sessionId + "; Path=/; HttpOnly");
+    }
+
+    private void endSession(HttpExchange exchange) {
+        String sessionId = readCookie(exchange, SESSION_COOKIE);
+        if (sessionId != null) {
+            sessions.remove(sessionId);
+        }
+        exchange.getResponseHeaders().add("Set-Cookie", SESSION_COOKIE + "=; Path=/; Max-Age=0");
+    }
+
+    private static String key(String email) {
+        return email.trim().toLowerCase();
+    }
+
+    // ==================== HTTP ====================
+
+    private void injectLatency() {
+        int delay = latencyMillis + (jitterMillis > 0 ? ThreadLocalRandom.current().nextInt(jitterMillis + 1) : 0);
+        if (delay <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Map<String, String> readForm(HttpExchange exchange) throws IOException {
+        Map<String, String> form = new HashMap<>();
+        parseForm(exchange.getRequestURI().getRawQuery(), form);
+        try (InputStream body = exchange.getRequestBody()) {
+            parseForm(new String(body.readAllBytes(), StandardCharsets.UTF_8), form);
+        }
+        return form;
+    }
+
+    private static void parseForm(String encoded, Map<String, String> form) {
+        if (encoded == null || encoded.isEmpty()) {
+            return;
+        }
+        for (String pair : encoded.split("&")) {
+            int separator = pair.indexOf('=');
+            String name = separator < 0 ? pair : pair.substring(0, separator);
+            String value = separator < 0 ? "" : pair.substring(separator + 1);
+            form.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String readCookie(HttpExchange exchange, String name) {
+        String header = exchange.getRequestHeaders().getFirst("Cookie");
+        if (header == null) {
+            return null;
+        }
+        for (String cookie : header.split(";")) {
+            String[] parts = cookie.trim().split("=", 2);
+            if (parts.length == 2 && parts[0].equals(name) && !parts[1].isEmpty()) {
+                return parts[1];
+            }
+        }
+        return null;
+    }
+
+    private static void redirect(HttpExchange exchange, String location) throws IOException {
+        exchange.getResponseHeaders().set("Location", location);
+        exchange.sendResponseHeaders(302, -1);
+    }
+
+    private static void sendApi(HttpExchange exchange, int responseCode, String message) throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("responseCode", responseCode);
+        json.put("message", message);
+        send(exchange, 200, "application/json", LocalAutPages.json(json));
+    }
+
+    private static void sendHtml(HttpExchange exchange, int status, String html) throws IOException {
+        send(exchange, status, "text/html; charset=utf-8", html);
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
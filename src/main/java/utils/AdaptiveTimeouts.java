@@ -0,0 +1,251 @@
+package utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Timeouts adaptativos por (página, localizador) aprendidos de las latencias observadas.
+ * Cada espera exitosa registra cuánto tardó el elemento; las muestras se guardan entre ejecuciones
+ * y el timeout sugerido es el percentil configurado (p95) multiplicado por un factor más un margen,
+ * acotado entre un mínimo y un máximo. Así un elemento rápido falla pronto y uno lento conocido conserva holgura.
+ *
+ * Modos (adaptive.timeouts.mode): off | record (solo aprende y reporta) | apply (usa el sugerido).
+ * Los timeouts fijados a mano (pin o archivo de overrides) tienen prioridad siempre.
+ */
+public class AdaptiveTimeouts {
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveTimeouts.class);
+
+    public static final String MODE_OFF = "off";
+    public static final String MODE_RECORD = "record";
+    public static final String MODE_APPLY = "apply";
+
+    private static final String GLOBAL_PAGE = "global";
+    private static final Json JSON = new Json();
+
+    private static final Map<String, LocatorStats> stats = new ConcurrentHashMap<>();
+    private static final Map<String, Long> overrides = new ConcurrentHashMap<>();
+    private static volatile boolean loaded;
+
+    /**
+     * Muestras de un (página, localizador): históricas más las de esta ejecución
+     */
+    private static class LocatorStats {
+        private final Deque<Long> samples = new ArrayDeque<>();
+        private long newSamples;
+        private long configuredMillis;
+
+        private synchronized void add(long millis, int maxSamples) {
+            samples.addLast(millis);
+            while (samples.size() > maxSamples) {
+                samples.removeFirst();
+            }
+            newSamples++;
+        }
+
+        private synchronized List<Long> sorted() {
+            List<Long> sorted = new ArrayList<>(samples);
+            Collections.sort(sorted);
+            return sorted;
+        }
+
+        private synchronized List<Long> snapshot() {
+            return new ArrayList<>(samples);
+        }
+    }
+
+    private AdaptiveTimeouts() {
+    }
+
+    public static String key(String page, By locator) {
+        return (page == null ? GLOBAL_PAGE : page) + " | " + locator;
+    }
+
+    /**
+     * Registra la latencia de una espera que se cumplió
+     */
+    public static void record(String page, By locator, long elapsedNanos) {
+        if (MODE_OFF.equals(ConfigReader.getAdaptiveTimeoutsMode())) {
+            return;
+        }
+        ensureLoaded();
+        stats.computeIfAbsent(key(page, locator), k -> new LocatorStats())
+                .add(elapsedNanos / 1_000_000, ConfigReader.getAdaptiveTimeoutsHistorySize());
+    }
+
+    /**
+     * Timeout a usar para la espera: override fijado, sugerido (modo apply con muestras suficientes) o el configurado
+     * @param configured Timeout que pidió el llamador
+     */
+    public static Duration resolve(String page, By locator, Duration configured) {
+        String mode = ConfigReader.getAdaptiveTimeoutsMode();
+        if (MODE_OFF.equals(mode)) {
+            return configured;
+        }
+        ensureLoaded();
+        String key = key(page, locator);
+        LocatorStats locatorStats = stats.computeIfAbsent(key, k -> new LocatorStats());
+        synchronized (locatorStats) {
+            locatorStats.configuredMillis = Math.max(locatorStats.configuredMillis, configured.toMillis());
+        }
+
+        Long pinned = overrides.get(key);
+        if (pinned != null) {
+            return Duration.ofMillis(pinned);
+        }
+        if (!MODE_APPLY.equals(mode)) {
+            return configured;
+        }
+        Long suggested = suggest(locatorStats);
+        return suggested == null ? configured : Duration.ofMillis(suggested);
+    }
+
+    /**
+     * Fija un timeout para el localizador, por encima de lo aprendido
+     */
+    public static void pin(String page, By locator, Duration timeout) {
+        ensureLoaded();
+        overrides.put(key(page, locator), timeout.toMillis());
+    }
+
+    /**
+     * Timeout sugerido en milisegundos, o null si todavía no hay muestras suficientes
+     */
+    private static Long suggest(LocatorStats locatorStats) {
+        List<Long> sorted = locatorStats.sorted();
+        if (sorted.size() < ConfigReader.getAdaptiveTimeoutsMinSamples()) {
+            return null;
+        }
+        long percentile = percentile(sorted, ConfigReader.getAdaptiveTimeoutsPercentile());
+        long suggested = Math.round(percentile * ConfigReader.getAdaptiveTimeoutsMultiplier())
+                + ConfigReader.getAdaptiveTimeoutsMarginMillis();
+        return Math.max(ConfigReader.getAdaptiveTimeoutsMinMillis(),
+                Math.min(ConfigReader.getAdaptiveTimeoutsMaxMillis(), suggested));
+    }
+
+    private static long percentile(List<Long> sorted, double percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(sorted.size() - 1, index)));
+    }
+
+    // ==================== Reporte ====================
+
+    /**
+     * Tabla de timeouts sugeridos frente a los configurados, ordenada por página y localizador
+     */
+    public static String report() {
+        StringBuilder report = new StringBuilder(String.format("%n  %-8s %-8s %-8s %-11s %-11s %-9s %s",
+                "samples", "p50", "p95", "configured", "suggested", "pinned", "page | locator"));
+        for (Map.Entry<String, LocatorStats> entry : new TreeMap<>(stats).entrySet()) {
+            LocatorStats locatorStats = entry.getValue();
+            List<Long> sorted = locatorStats.sorted();
+            if (sorted.isEmpty() && locatorStats.configuredMillis == 0) {
+                continue;
+            }
+            Long suggested = suggest(locatorStats);
+            Long pinned = overrides.get(entry.getKey());
+            report.append(String.format("%n  %-8d %-8s %-8s %-11s %-11s %-9s %s",
+                    sorted.size(),
+                    sorted.isEmpty() ? "-" : sorted.get(sorted.size() / 2) + "ms",
+                    sorted.isEmpty() ? "-" : percentile(sorted, 95) + "ms",
+                    locatorStats.configuredMillis == 0 ? "-" : locatorStats.configuredMillis + "ms",
+                    suggested == null ? "-" : suggested + "ms",
+                    pinned == null ? "-" : pinned + "ms",
+                    entry.getKey()));
+        }
+        return report.toString();
+    }
+
+    // ==================== Persistencia ====================
+
+    /**
+     * Guarda las muestras (históricas + nuevas) para la próxima ejecución
+     */
+    public static synchronized void save() {
+        if (!loaded || stats.values().stream().noneMatch(s -> s.newSamples > 0)) {
+            return;
+        }
+        Map<String, Object> json = new TreeMap<>();
+        stats.forEach((key, locatorStats) -> {
+            List<Long> samples = locatorStats.snapshot();
+            if (!samples.isEmpty()) {
+                json.put(key, samples);
+            }
+        });
+
+        Path file = Paths.get(ConfigReader.getAdaptiveTimeoutsFile());
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), "adaptive-timeouts", ".tmp");
+            Files.write(temp, JSON.toJson(json).getBytes(StandardCharsets.UTF_8));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("Adaptive timeout samples saved to {} ({} locators)", file, json.size());
+        } catch (IOException e) {
+            logger.warn("Could not save adaptive timeout samples to {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static void ensureLoaded() {
+        if (!loaded) {
+            synchronized (AdaptiveTimeouts.class) {
+                if (!loaded) {
+                    load();
+                    loaded = true;
+                }
+            }
+        }
+    }
+
+    private static void load() {
+        int maxSamples = ConfigReader.getAdaptiveTimeoutsHistorySize();
+        for (Map.Entry<String, Object> entry : readJson(ConfigReader.getAdaptiveTimeoutsFile()).entrySet()) {
+            if (!(entry.getValue() instanceof List)) {
+                continue;
+            }
+            LocatorStats locatorStats = stats.computeIfAbsent(entry.getKey(), k -> new LocatorStats());
+            for (Object sample : (List<?>) entry.getValue()) {
+                if (sample instanceof Number) {
+                    locatorStats.add(((Number) sample).longValue(), maxSamples);
+                }
+            }
+            locatorStats.newSamples = 0;
+        }
+
+        // Overrides: {"HomePage | By.xpath: //a[...]": 15000} en milisegundos
+        for (Map.Entry<String, Object> entry : readJson(ConfigReader.getAdaptiveTimeoutsOverridesFile()).entrySet()) {
+            if (entry.getValue() instanceof Number) {
+                overrides.putIfAbsent(entry.getKey(), ((Number) entry.getValue()).longValue());
+            }
+        }
+    }
+
+    private static Map<String, Object> readJson(String path) {
+        Path file = Paths.get(path);
+        if (!Files.exists(file)) {
+            return Collections.emptyMap();
+        }
+        try {
+            return JSON.toType(new String(Files.readAllBytes(file), StandardCharsets.UTF_8), Json.MAP_TYPE);
+        } catch (Exception e) {
+            logger.warn("Ignoring unreadable adaptive timeouts file {}: {}", file, e.getMessage());
+            return Collections.emptyMap();
+        }
+    }
+}
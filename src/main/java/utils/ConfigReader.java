@@ -32,6 +32,37 @@ public class ConfigReader {
         return System.getProperty(key, properties.getProperty(key));
     }
 
+    // Variantes con valor por defecto para propiedades opcionales
+    public static String getProperty(String key, String defaultValue) {
+        String value = getProperty(key);
+        return value == null || value.trim().isEmpty() ? defaultValue : value.trim();
+    }
+
+    public static int getIntProperty(String key, int defaultValue) {
+        String value = getProperty(key);
+        try {
+            return value == null ? defaultValue : Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("Valor inválido para " + key + ": " + value + ". Usando " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    public static double getDoubleProperty(String key, double defaultValue) {
+        String value = getProperty(key);
+        try {
+            return value == null ? defaultValue : Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("Valor inválido para " + key + ": " + value + ". Usando " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    public static boolean getBooleanProperty(String key, boolean defaultValue) {
+        String value = getProperty(key);
+        return value == null || value.trim().isEmpty() ? defaultValue : Boolean.parseBoolean(value.trim());
+    }
+
     public static String getBaseUrl() {
         return getProperty("base.url");
     }
@@ -48,6 +79,250 @@ public class ConfigReader {
         return Boolean.parseBoolean(getProperty("headless"));
     }
 
+    // Perfil de navegación (estrategia de carga y bloqueo de recursos)
+    public static String getNavigationProfile() {
+        return getProperty("navigation.profile", "default");
+    }
+
+    public static int getPageLoadTimeout() {
+        return getIntProperty("page.load.timeout", 30);
+    }
+
+    // Motor de esperas de visibilidad: observer (MutationObserver en la página) | polling
+    public static String getWaitEngine() {
+        return getProperty("wait.engine", "observer").toLowerCase();
+    }
+
+    // Detección de página lista (readyState + fetch/XHR pendientes + DOM quieto), en ms
+    public static int getReadinessTimeout() {
+        return getIntProperty("page.ready.timeout.ms", 10000);
+    }
+
+    public static int getReadinessQuietMillis() {
+        return getIntProperty("page.ready.quiet.ms", 300);
+    }
+
+    public static int getReadinessMaxRequestMillis() {
+        return getIntProperty("page.ready.max.request.ms", 5000);
+    }
+
+    // Reescritura transparente de XPath simples a id/CSS y umbrales del analizador de localizadores
+    public static boolean isLocatorRewriteEnabled() {
+        return getBooleanProperty("locator.rewrite.enabled", false);
+    }
+
+    public static int getLocatorAnalyzerSlowMicros() {
+        return getIntProperty("locator.analyzer.slow.micros", 200);
+    }
+
+    public static int getLocatorAnalyzerIterations() {
+        return getIntProperty("locator.analyzer.iterations", 50);
+    }
+
+    // Caché de referencias WebElement por página (las páginas también pueden activarla con enableElementCache)
+    public static boolean isElementCacheEnabled() {
+        return getBooleanProperty("element.cache.enabled", false);
+    }
+
+    // Llenado de formularios en bloque: true = escribir todos los campos de texto con sendKeys
+    public static boolean isFormFillTyping() {
+        return getBooleanProperty("form.fill.typing", false);
+    }
+
+    // Política de screenshots de los pasos: always | on_commit | on_failure_only | last_n_before_failure
+    public static String getScreenshotPolicy() {
+        return getProperty("screenshot.policy", "on_failure_only");
+    }
+
+    public static int getScreenshotPolicyLastN() {
+        return getIntProperty("screenshot.policy.last.n", 3);
+    }
+
+    // Escritura asíncrona de los pasos del reporte: hilos de render y pasos en vuelo antes de frenar al test
+    public static boolean isScreenshotPipelineEnabled() {
+        return getBooleanProperty("screenshot.pipeline.enabled", true);
+    }
+
+    public static int getScreenshotPipelineThreads() {
+        return getIntProperty("screenshot.pipeline.threads", 2);
+    }
+
+    public static int getScreenshotPipelineQueueSize() {
+        return getIntProperty("screenshot.pipeline.queue.size", 32);
+    }
+
+    // Deduplicación de screenshots por contenido y, opcionalmente, por hash perceptual (distancia de Hamming en bits)
+    public static boolean isScreenshotDedupEnabled() {
+        return getBooleanProperty("screenshot.dedup.enabled", true);
+    }
+
+    public static boolean isScreenshotPerceptualDedupEnabled() {
+        return getBooleanProperty("screenshot.dedup.perceptual", false);
+    }
+
+    public static int getScreenshotPerceptualDistance() {
+        return getIntProperty("screenshot.dedup.perceptual.distance", 2);
+    }
+
+    // Almacenamiento de screenshots: files (reports/<run>/assets/) | inline (base64 en el HTML)
+    public static String getScreenshotStorage() {
+        return getProperty("screenshot.storage", "files");
+    }
+
+    // Sondeo de las esperas explícitas: fixed | exponential | fast_then_slow (intervalos en ms)
+    public static String getWaitPollingStrategy() {
+        return getProperty("wait.polling.strategy", "exponential");
+    }
+
+    public static int getWaitPollingInterval() {
+        return getIntProperty("wait.polling.interval.ms", 50);
+    }
+
+    public static int getWaitPollingMaxInterval() {
+        return getIntProperty("wait.polling.max.interval.ms", 500);
+    }
+
+    public static int getWaitPollingFastAttempts() {
+        return getIntProperty("wait.polling.fast.attempts", 10);
+    }
+
+    // Timeouts adaptativos por (página, localizador): off | record | apply
+    public static String getAdaptiveTimeoutsMode() {
+        return getProperty("adaptive.timeouts.mode", "record").toLowerCase();
+    }
+
+    public static String getAdaptiveTimeoutsFile() {
+        return getProperty("adaptive.timeouts.file", "reports/adaptive-timeouts.json");
+    }
+
+    public static String getAdaptiveTimeoutsOverridesFile() {
+        return getProperty("adaptive.timeouts.overrides", "src/main/resources/timeout-overrides.json");
+    }
+
+    public static double getAdaptiveTimeoutsPercentile() {
+        return getDoubleProperty("adaptive.timeouts.percentile", 95);
+    }
+
+    public static double getAdaptiveTimeoutsMultiplier() {
+        return getDoubleProperty("adaptive.timeouts.multiplier", 1.5);
+    }
+
+    public static int getAdaptiveTimeoutsMarginMillis() {
+        return getIntProperty("adaptive.timeouts.margin.ms", 500);
+    }
+
+    public static int getAdaptiveTimeoutsMinMillis() {
+        return getIntProperty("adaptive.timeouts.min.ms", 1000);
+    }
+
+    public static int getAdaptiveTimeoutsMaxMillis() {
+        return getIntProperty("adaptive.timeouts.max.ms", 60000);
+    }
+
+    public static int getAdaptiveTimeoutsMinSamples() {
+        return getIntProperty("adaptive.timeouts.min.samples", 20);
+    }
+
+    public static int getAdaptiveTimeoutsHistorySize() {
+        return getIntProperty("adaptive.timeouts.history.size", 200);
+    }
+
+    // Ejecución paralela: none | methods | classes | tests | instances
+    public static String getParallelMode() {
+        return getProperty("parallel.mode", "none");
+    }
+
+    public static int getParallelThreads() {
+        return getIntProperty("parallel.threads", Runtime.getRuntime().availableProcessors());
+    }
+
+    // Pool de sesiones de WebDriver
+    public static boolean isDriverPoolEnabled() {
+        return getBooleanProperty("driver.pool.enabled", false);
+    }
+
+    public static int getDriverPoolSize() {
+        return getIntProperty("driver.pool.size", 2);
+    }
+
+    public static int getDriverPoolMaxUses() {
+        return getIntProperty("driver.pool.max.uses", 20);
+    }
+
+    public static int getDriverPoolLeaseTimeout() {
+        return getIntProperty("driver.pool.lease.timeout", 120);
+    }
+
+    // Pre-creación en segundo plano de la siguiente sesión
+    public static boolean isPrespawnEnabled() {
+        return getBooleanProperty("prespawn.enabled", false);
+    }
+
+    public static int getPrespawnMaxConcurrent() {
+        return getIntProperty("prespawn.max.concurrent", 1);
+    }
+
+    // Supervisión de sesiones: heartbeat, reemplazo de sesiones muertas y reintento ante crash
+    public static boolean isSessionSupervisionEnabled() {
+        return getBooleanProperty("session.supervision.enabled", true);
+    }
+
+    public static int getSessionHeartbeatTimeout() {
+        return getIntProperty("session.heartbeat.timeout", 5);
+    }
+
+    public static int getSessionRecoveryAttempts() {
+        return getIntProperty("session.recovery.attempts", 2);
+    }
+
+    public static int getSessionCrashRetries() {
+        return getIntProperty("session.crash.retries", 1);
+    }
+
+    // Resolución de drivers (una vez por JVM, con caché en disco y modo offline)
+    public static boolean isDriverOffline() {
+        return getBooleanProperty("driver.offline", false);
+    }
+
+    public static String getDriverOfflineDir() {
+        return getProperty("driver.offline.dir", System.getProperty("user.dir") + "/src/main/resources/drivers");
+    }
+
+    public static String getDriverCacheDir() {
+        return getProperty("driver.cache.dir", System.getProperty("user.home") + "/.cache/selenium-e2e-drivers");
+    }
+
+    // API usada para sembrar datos de prueba (por defecto la misma URL base del sitio)
+    public static String getApiBaseUrl() {
+        return getProperty("api.base.url", getBaseUrl());
+    }
+
+    // Réplica local del sitio (base.url=local)
+    public static int getLocalServerPort() {
+        return getIntProperty("local.server.port", 0);
+    }
+
+    public static int getLocalServerLatency() {
+        return getIntProperty("local.server.latency.ms", 0);
+    }
+
+    public static int getLocalServerLatencyJitter() {
+        return getIntProperty("local.server.latency.jitter.ms", 0);
+    }
+
+    // Caché de sesiones autenticadas
+    public static int getSessionCacheTtlMinutes() {
+        return getIntProperty("session.cache.ttl.minutes", 30);
+    }
+
+    public static boolean isSessionCachePersisted() {
+        return getBooleanProperty("session.cache.persist", true);
+    }
+
+    public static String getSessionCacheDir() {
+        return getProperty("session.cache.dir", System.getProperty("user.dir") + "/target/session-cache");
+    }
+
     // Método para obtener URLs específicas
     public static String getUrl(String urlKey) {
         return getProperty(urlKey + ".url");
@@ -0,0 +1,198 @@
+package utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Estado de varios elementos (presencia, visibilidad, texto y atributos) leído en una sola ejecución de script.
+ * Reemplaza secuencias de esperas e isDisplayed()/getText() por localizador cuando una página
+ * verifica varios elementos a la vez. Se obtiene con {@link WebHelpers#snapshot} o {@link WebHelpers#waitForSnapshot}.
+ */
+public class DomSnapshot {
+
+    public static final String METRIC_SNAPSHOT = "dom.snapshot";
+
+    private static final String SNAPSHOT_SCRIPT = DomWaiter.FIND_FUNCTION + DomWaiter.VISIBLE_FUNCTION +
+            "var locators = arguments[0], attributes = arguments[1], states = [];" +
+            "for (var i = 0; i < locators.length; i++) {" +
+            "  var el = null;" +
+            "  try { el = find(locators[i][0], locators[i][1]); } catch (e) {}" +
+            "  var state = {present: !!el, visible: visible(el), text: '', attributes: {}};" +
+            "  if (el) {" +
+            "    state.text = (el.innerText || el.textContent || '').trim();" +
+            "    for (var a = 0; a < attributes.length; a++) { state.attributes[attributes[a]] = el.getAttribute(attributes[a]); }" +
+            "  }" +
+            "  states.push(state);" +
+            "}" +
+            "return states;";
+
+    /**
+     * Estado de un localizador (primer elemento que coincide)
+     */
+    public static class ElementState {
+        private final boolean present;
+        private final boolean visible;
+        private final String text;
+        private final Map<String, String> attributes;
+
+        private ElementState(boolean present, boolean visible, String text, Map<String, String> attributes) {
+            this.present = present;
+            this.visible = visible;
+            this.text = text;
+            this.attributes = attributes;
+        }
+
+        public boolean isPresent() {
+            return present;
+        }
+
+        public boolean isVisible() {
+            return visible;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public String getAttribute(String name) {
+            return attributes.get(name);
+        }
+
+        @Override
+        public String toString() {
+            return (visible ? "visible" : present ? "hidden" : "absent")
+                    + (text.isEmpty() ? "" : " '" + text + "'")
+                    + (attributes.isEmpty() ? "" : " " + attributes);
+        }
+    }
+
+    private final Map<By, ElementState> states;
+
+    private DomSnapshot(Map<By, ElementState> states) {
+        this.states = states;
+    }
+
+    /**
+     * Lee el estado de todos los localizadores. Los que no se pueden evaluar en la página
+     * (p. ej. ByChained) se leen con findElements sin implicit wait.
+     * @param attributes Atributos a leer de cada elemento presente
+     */
+    static DomSnapshot capture(WebDriver driver, Collection<By> locators, String... attributes) {
+        long start = System.nanoTime();
+        try {
+            List<By> inPage = new ArrayList<>();
+            List<List<String>> arguments = new ArrayList<>();
+            for (By locator : locators) {
+                By.Remotable.Parameters parameters = DomWaiter.remoteParameters(locator);
+                if (parameters != null) {
+                    inPage.add(locator);
+                    arguments.add(List.of(parameters.using(), String.valueOf(parameters.value())));
+                }
+            }
+
+            Map<By, ElementState> states = new LinkedHashMap<>();
+            List<?> results = inPage.isEmpty() ? Collections.emptyList()
+                    : (List<?>) ((JavascriptExecutor) driver).executeScript(SNAPSHOT_SCRIPT, arguments, Arrays.asList(attributes));
+            for (int i = 0; i < inPage.size(); i++) {
+                states.put(inPage.get(i), fromScript((Map<?, ?>) results.get(i)));
+            }
+            for (By locator : locators) {
+                if (!states.containsKey(locator)) {
+                    states.put(locator, WaitPolicy.apply(driver, WaitPolicy.Policy.NEGATIVE,
+                            () -> fromElement(driver, locator, attributes)));
+                }
+            }
+
+            Map<By, ElementState> ordered = new LinkedHashMap<>();
+            for (By locator : locators) {
+                ordered.put(locator, states.get(locator));
+            }
+            return new DomSnapshot(ordered);
+        } finally {
+            ExecutionMetrics.recordSince(METRIC_SNAPSHOT, start);
+        }
+    }
+
+    private static ElementState fromScript(Map<?, ?> state) {
+        Map<String, String> attributes = new LinkedHashMap<>();
+        Object rawAttributes = state.get("attributes");
+        if (rawAttributes instanceof Map) {
+            ((Map<?, ?>) rawAttributes).forEach((name, value) ->
+                    attributes.put(String.valueOf(name), value == null ? null : String.valueOf(value)));
+        }
+        return new ElementState(Boolean.TRUE.equals(state.get("present")), Boolean.TRUE.equals(state.get("visible")),
+                String.valueOf(state.get("text")), attributes);
+    }
+
+    private static ElementState fromElement(WebDriver driver, By locator, String... attributeNames) {
+        List<WebElement> elements = driver.findElements(locator);
+        if (elements.isEmpty()) {
+            return new ElementState(false, false, "", Collections.emptyMap());
+        }
+        try {
+            WebElement element = elements.get(0);
+            Map<String, String> attributes = new LinkedHashMap<>();
+            for (String name : attributeNames) {
+                attributes.put(name, element.getAttribute(name));
+            }
+            return new ElementState(true, element.isDisplayed(), element.getText().trim(), attributes);
+        } catch (WebDriverException e) {
+            // El elemento cambió mientras se leía: se reporta como ausente y el próximo sondeo lo vuelve a leer
+            return new ElementState(false, false, "", Collections.emptyMap());
+        }
+    }
+
+    // ==================== Consultas ====================
+
+    public ElementState get(By locator) {
+        ElementState state = states.get(locator);
+        if (state == null) {
+            throw new IllegalArgumentException("Localizador no incluido en el snapshot: " + locator);
+        }
+        return state;
+    }
+
+    public boolean isVisible(By locator) {
+        return get(locator).isVisible();
+    }
+
+    public boolean isPresent(By locator) {
+        return get(locator).isPresent();
+    }
+
+    public String getText(By locator) {
+        return get(locator).getText();
+    }
+
+    public boolean allVisible(By... locators) {
+        return Arrays.stream(locators).allMatch(this::isVisible);
+    }
+
+    public boolean noneVisible(By... locators) {
+        return Arrays.stream(locators).noneMatch(this::isVisible);
+    }
+
+    /**
+     * Estado de cada localizador, para los mensajes de error
+     */
+    @Override
+    public String toString() {
+        StringBuilder description = new StringBuilder();
+        states.forEach((locator, state) -> {
+            if (description.length() > 0) description.append("; ");
+            description.append(locator).append(" = ").append(state);
+        });
+        return description.toString();
+    }
+}
@@ -0,0 +1,245 @@
+package utils;
+
+import basetest.SessionSupervisor;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Motor de esperas de visibilidad dirigido por eventos del DOM.
+ * Registra en la página un MutationObserver (agrupado por requestAnimationFrame) vía executeAsyncScript,
+ * que responde en cuanto la condición se cumple, en lugar de consultar al driver cada 500 ms.
+ * Si el localizador no se puede evaluar en la página o el motor configurado es "polling",
+ * usa el sondeo clásico con findElements.
+ */
+public class DomWaiter {
+    private static final Logger logger = LoggerFactory.getLogger(DomWaiter.class);
+
+    public static final String ENGINE_OBSERVER = "observer";
+    public static final String ENGINE_POLLING = "polling";
+
+    public static final String METRIC_OBSERVER = "wait.observer";
+    public static final String METRIC_POLLING = "wait.polling";
+
+    // Cada llamada asíncrona dura como máximo esto, para no superar el script timeout por defecto (30 s)
+    private static final long MAX_SCRIPT_WAIT_MILLIS = 20_000;
+    private static final long POLLING_INTERVAL_MILLIS = 500;
+
+    public enum Condition {
+        VISIBLE,
+        HIDDEN
+    }
+
+    /**
+     * Función JS find(using, value): primer elemento del localizador en formato del protocolo WebDriver, o null
+     */
+    static final String FIND_FUNCTION =
+            "function find(using, value) {" +
+            "  switch (using) {" +
+            "    case 'css selector': return document.querySelector(value);" +
+            "    case 'xpath': return document.evaluate(value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;" +
+            "    case 'tag name': return document.getElementsByTagName(value)[0] || null;" +
+            "    case 'link text': case 'partial link text':" +
+            "      var links = document.getElementsByTagName('a');" +
+            "      for (var i = 0; i < links.length; i++) {" +
+            "        var text = (links[i].innerText || '').trim();" +
+            "        if (using === 'link text' ? text === value : text.indexOf(value) >= 0) return links[i];" +
+            "      }" +
+            "      return null;" +
+            "  }" +
+            "  throw new Error('unsupported locator: ' + using);" +
+            "}";
+
+    /**
+     * Función JS visible(el): conectado, sin display:none/opacity 0 en la cadena de padres y con tamaño
+     */
+    static final String VISIBLE_FUNCTION =
+            "function visible(el) {" +
+            // Un XPath como //text()[...] devuelve un nodo de texto: se evalúa el elemento que lo contiene
+            "  if (el && el.nodeType !== 1) el = el.parentElement;" +
+            "  if (!el || !el.isConnected) return false;" +
+            "  for (var node = el; node && node.nodeType === 1; node = node.parentElement) {" +
+            "    var style = window.getComputedStyle(node);" +
+            "    if (style.display === 'none' || (node === el && style.visibility === 'hidden') || style.opacity === '0') return false;" +
+            "  }" +
+            "  var rect = el.getBoundingClientRect();" +
+            "  return rect.width > 0 && rect.height > 0;" +
+            "}";
+
+    private static final String OBSERVER_SCRIPT = FIND_FUNCTION + VISIBLE_FUNCTION +
+            "var using = arguments[0], value = arguments[1], mode = arguments[2], timeout = arguments[3];" +
+            "var done = arguments[arguments.length - 1];" +
+            "function check() { var shown = visible(find(using, value)); return mode === 'VISIBLE' ? shown : !shown; }" +
+            "if (check()) { done(true); return; }" +
+            "var finished = false, frame = null, timer, safety;" +
+            "function finish(result) {" +
+            "  if (finished) return;" +
+            "  finished = true; observer.disconnect(); clearTimeout(timer); clearInterval(safety); done(result);" +
+            "}" +
+            "function schedule() {" +
+            "  if (frame !== null) return;" +
+            "  frame = window.requestAnimationFrame(function() { frame = null; if (check()) finish(true); });" +
+            "}" +
+            "var observer = new MutationObserver(schedule);" +
+            "observer.observe(document.documentElement, {childList: true, subtree: true, attributes: true, characterData: true});" +
+            // Las transiciones CSS no generan mutaciones y rAF se pausa en pestañas ocultas
+            "safety = setInterval(function() { if (check()) finish(true); }, 250);" +
+            "timer = setTimeout(function() { finish(check()); }, timeout);";
+
+    private DomWaiter() {
+    }
+
+    public static String getEngine() {
+        return ConfigReader.getWaitEngine();
+    }
+
+    /**
+     * Espera hasta que el primer elemento del localizador cumpla la condición
+     * @param driver Driver de la sesión
+     * @param locator Localizador del elemento
+     * @param condition VISIBLE o HIDDEN (ausente o no visible)
+     * @param timeoutSeconds Tiempo máximo de espera
+     * @return true si la condición se cumplió a tiempo
+     */
+    public static boolean waitFor(WebDriver driver, By locator, Condition condition, int timeoutSeconds) {
+        return waitFor(driver, null, locator, condition, Duration.ofSeconds(timeoutSeconds));
+    }
+
+    /**
+     * Igual que {@link #waitFor(WebDriver, By, Condition, int)}, registrando la latencia de las
+     * apariciones para los timeouts adaptativos de la página
+     * @param page Página que espera (puede ser null)
+     */
+    public static boolean waitFor(WebDriver driver, String page, By locator, Condition condition, Duration timeout) {
+        long start = System.nanoTime();
+        boolean met = evaluate(driver, locator, condition, start + timeout.toNanos());
+        if (met && page != null && condition == Condition.VISIBLE) {
+            AdaptiveTimeouts.record(page, locator, System.nanoTime() - start);
+        }
+        return met;
+    }
+
+    private static boolean evaluate(WebDriver driver, By locator, Condition condition, long deadline) {
+        By.Remotable.Parameters parameters = remoteParameters(locator);
+
+        if (parameters == null || !(driver instanceof JavascriptExecutor) || ENGINE_POLLING.equals(getEngine())) {
+            return poll(driver, locator, condition, deadline);
+        }
+
+        long start = System.nanoTime();
+        try {
+            return observe((JavascriptExecutor) driver, parameters, condition, deadline);
+        } catch (WebDriverException e) {
+            if (SessionSupervisor.isCrash(e)) {
+                return false;
+            }
+            logger.debug("Observer wait failed for {} ({}), falling back to polling", locator, firstLine(e));
+            return poll(driver, locator, condition, deadline);
+        } finally {
+            ExecutionMetrics.recordSince(METRIC_OBSERVER, start);
+        }
+    }
+
+    private static boolean observe(JavascriptExecutor executor, By.Remotable.Parameters parameters,
+                                   Condition condition, long deadline) {
+        while (true) {
+            long remaining = (deadline - System.nanoTime()) / 1_000_000;
+            long chunk = Math.max(0, Math.min(remaining, MAX_SCRIPT_WAIT_MILLIS));
+            try {
+                Object result = executor.executeAsyncScript(OBSERVER_SCRIPT,
+                        parameters.using(), String.valueOf(parameters.value()), condition.name(), chunk);
+                if (Boolean.TRUE.equals(result)) {
+                    return true;
+                }
+            } catch (WebDriverException e) {
+                // Una navegación descarga el documento y con él el observer: se vuelve a registrar en el nuevo
+                if (!isObserverInterrupted(e) || remaining <= 0) {
+                    throw e;
+                }
+                continue;
+            }
+            if (remaining <= chunk) {
+                return false;
+            }
+        }
+    }
+
+    private static boolean poll(WebDriver driver, By locator, Condition condition, long deadline) {
+        long start = System.nanoTime();
+        try {
+            // El implicit wait se suspende una sola vez para todo el sondeo, como en WaitFactory.until()
+            return WaitPolicy.apply(driver, WaitPolicy.Policy.EXPLICIT,
+                    () -> pollUntil(driver, locator, condition, deadline));
+        } finally {
+            ExecutionMetrics.recordSince(METRIC_POLLING, start);
+        }
+    }
+
+    private static boolean pollUntil(WebDriver driver, By locator, Condition condition, long deadline) {
+        try {
+            while (true) {
+                try {
+                    List<WebElement> elements = driver.findElements(locator);
+                    boolean shown = !elements.isEmpty() && elements.get(0).isDisplayed();
+                    if (shown == (condition == Condition.VISIBLE)) {
+                        return true;
+                    }
+                } catch (WebDriverException e) {
+                    if (SessionSupervisor.isCrash(e)) {
+                        return false;
+                    }
+                    // Continuar verificando (p. ej. elemento obsoleto)
+                }
+                long remaining = (deadline - System.nanoTime()) / 1_000_000;
+                if (remaining <= 0) {
+                    return false;
+                }
+                Thread.sleep(Math.min(POLLING_INTERVAL_MILLIS, remaining));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Traduce el localizador al formato del protocolo WebDriver (id, name y className pasan a CSS)
+     * @return null si el localizador no se puede evaluar dentro de la página
+     */
+    static By.Remotable.Parameters remoteParameters(By locator) {
+        if (ConfigReader.isLocatorRewriteEnabled()) {
+            locator = LocatorRewriter.rewrite(locator);
+        }
+        if (!(locator instanceof By.Remotable)) {
+            return null;
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+        switch (parameters.using()) {
+            case "css selector":
+            case "xpath":
+            case "tag name":
+            case "link text":
+            case "partial link text":
+                return parameters;
+            default:
+                return null;
+        }
+    }
+
+    private static boolean isObserverInterrupted(WebDriverException e) {
+        String message = e.getMessage() == null ? "" : e.getMessage().toLowerCase();
+        return message.contains("unload") || message.contains("navigat") || message.contains("context was discarded")
+                || message.contains("script timeout") || message.contains("timed out");
+    }
+
+    private static String firstLine(Throwable throwable) {
+        return throwable.getMessage() == null ? throwable.toString() : throwable.getMessage().split("\n", 2)[0];
+    }
+}
@@ -0,0 +1,106 @@
+package utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Selección en un &lt;select&gt; estándar resuelta dentro de la página en una sola llamada.
+ * Estrategias en orden: exacta, sin mayúsculas, sin acentos, por value y por prefijo (solo si es única).
+ * Al elegir dispara input y change; si nada coincide devuelve las opciones disponibles para el mensaje de error.
+ */
+public class DropdownMatcher {
+
+    public static final String METRIC_SELECT = "dropdown.select";
+
+    private static final int MAX_OPTIONS_IN_MESSAGE = 15;
+
+    /**
+     * Función JS pick(select, wanted): {option, strategy} o {candidates} si el prefijo es ambiguo, o null
+     */
+    static final String PICK_FUNCTION =
+            "function pick(select, wanted) {" +
+            "  function norm(text) { return (text || '').replace(/\\s+/g, ' ').trim().toLowerCase(); }" +
+            "  function fold(text) { return norm((text || '').normalize('NFD').replace(/[\\u0300-\\u036f]/g, '')); }" +
+            "  var options = Array.prototype.slice.call(select.options), target = String(wanted);" +
+            "  var strategies = [" +
+            "    ['exact', function(o) { return o.text.trim() === target.trim(); }]," +
+            "    ['case-insensitive', function(o) { return norm(o.text) === norm(target); }]," +
+            "    ['diacritic-insensitive', function(o) { return fold(o.text) === fold(target); }]," +
+            "    ['value', function(o) { return o.value === target; }]," +
+            "    ['prefix', function(o) { return fold(target).length > 0 && fold(o.text).indexOf(fold(target)) === 0; }]" +
+            "  ];" +
+            "  for (var s = 0; s < strategies.length; s++) {" +
+            "    var matches = options.filter(strategies[s][1]);" +
+            "    if (matches.length === 1 || (matches.length > 1 && strategies[s][0] !== 'prefix')) {" +
+            "      return {option: matches[0], strategy: strategies[s][0]};" +
+            "    }" +
+            "    if (matches.length > 1) {" +
+            "      return {candidates: matches.map(function(o) { return o.text.trim(); })};" +
+            "    }" +
+            "  }" +
+            "  return null;" +
+            "}" +
+            "function choose(select, option) {" +
+            "  if (option.selected) return;" +
+            "  option.selected = true;" +
+            "  select.dispatchEvent(new Event('input', {bubbles: true}));" +
+            "  select.dispatchEvent(new Event('change', {bubbles: true}));" +
+            "}";
+
+    private static final String SELECT_SCRIPT = PICK_FUNCTION +
+            "var select = arguments[0], wanted = arguments[1];" +
+            "var result = pick(select, wanted);" +
+            "if (result && result.option) {" +
+            "  choose(select, result.option);" +
+            "  return {strategy: result.strategy, text: result.option.text.trim()};" +
+            "}" +
+            "return {candidates: result ? result.candidates : null," +
+            "  available: Array.prototype.map.call(select.options, function(o) { return o.text.trim(); })};";
+
+    private DropdownMatcher() {
+    }
+
+    /**
+     * Selecciona la opción que coincide con el texto
+     * @param driver Driver de la sesión
+     * @param select Elemento &lt;select&gt;
+     * @param wanted Texto visible (o value) buscado
+     * @return Texto de la opción elegida
+     * @throws RuntimeException si ninguna opción coincide, con las opciones disponibles
+     */
+    public static String select(WebDriver driver, WebElement select, String wanted) {
+        long start = System.nanoTime();
+        try {
+            Map<?, ?> result = (Map<?, ?>) ((JavascriptExecutor) driver).executeScript(SELECT_SCRIPT, select, wanted);
+            if (result.get("strategy") != null) {
+                ExecutionMetrics.increment(METRIC_SELECT + "." + result.get("strategy"));
+                return String.valueOf(result.get("text"));
+            }
+            if (result.get("candidates") != null) {
+                throw new RuntimeException("'" + wanted + "' es ambiguo en el dropdown. Coincide con: "
+                        + describe((List<?>) result.get("candidates")));
+            }
+            throw new RuntimeException("No se encontró '" + wanted + "' en el dropdown. " +
+                    "Opciones disponibles: " + describe((List<?>) result.get("available")));
+        } finally {
+            ExecutionMetrics.recordSince(METRIC_SELECT, start);
+        }
+    }
+
+    private static String describe(List<?> options) {
+        StringBuilder description = new StringBuilder();
+        int shown = Math.min(options.size(), MAX_OPTIONS_IN_MESSAGE);
+        for (int i = 0; i < shown; i++) {
+            if (i > 0) description.append(", ");
+            description.append("'").append(options.get(i)).append("'");
+        }
+        if (options.size() > shown) {
+            description.append(" ... (").append(options.size() - shown).append(" más)");
+        }
+        return description.toString();
+    }
+}
@@ -0,0 +1,93 @@
+package utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caché de referencias WebElement por localizador, propia de cada página (instancia de WebHelpers).
+ * Evita volver a localizar un elemento que la misma página acaba de usar.
+ * Se invalida completa cuando la sesión navega (NavigationTimer) y por entrada cuando el elemento
+ * resulta obsoleto (StaleElementReferenceException); quien la usa reintenta con el elemento relocalizado.
+ * Métricas: "element.cache.hit" (findElement ahorrados), "element.cache.miss" y "element.cache.stale".
+ */
+public class ElementCache {
+
+    public static final String METRIC_HIT = "element.cache.hit";
+    public static final String METRIC_MISS = "element.cache.miss";
+    public static final String METRIC_STALE = "element.cache.stale";
+
+    // Generación de documento por sesión: cambia en cada navegación explícita
+    private static final Map<WebDriver, AtomicLong> generations = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final WebDriver driver;
+    private final Map<By, WebElement> elements = new HashMap<>();
+    // Entradas entregadas como acierto desde que se guardaron
+    private final Set<By> served = new HashSet<>();
+    private long generation;
+
+    public ElementCache(WebDriver driver) {
+        this.driver = driver;
+        this.generation = generationOf(driver).get();
+    }
+
+    /**
+     * Invalida las cachés de todas las páginas de la sesión (llamado al navegar)
+     */
+    public static void invalidate(WebDriver driver) {
+        generationOf(driver).incrementAndGet();
+    }
+
+    private static AtomicLong generationOf(WebDriver driver) {
+        return generations.computeIfAbsent(driver, d -> new AtomicLong());
+    }
+
+    /**
+     * @return el elemento cacheado, o null (miss) si no está o la sesión navegó desde que se guardó
+     */
+    public synchronized WebElement get(By locator) {
+        long current = generationOf(driver).get();
+        if (current != generation) {
+            clear();
+            generation = current;
+        }
+        WebElement element = elements.get(locator);
+        if (element != null) {
+            served.add(locator);
+        }
+        ExecutionMetrics.increment(element == null ? METRIC_MISS : METRIC_HIT);
+        return element;
+    }
+
+    public synchronized void put(By locator, WebElement element) {
+        elements.put(locator, element);
+        served.remove(locator);
+    }
+
+    /**
+     * Descarta una referencia obsoleta. Quien la descarta relocaliza el elemento sin volver a consultar
+     * la caché, así que cada búsqueda cuenta un solo fallo
+     */
+    public synchronized void evictStale(By locator) {
+        elements.remove(locator);
+        if (served.remove(locator)) {
+            // El acierto no ahorró nada: se relocaliza, así que cuenta como fallo
+            ExecutionMetrics.increment(METRIC_STALE);
+            ExecutionMetrics.add(METRIC_HIT, -1);
+            ExecutionMetrics.increment(METRIC_MISS);
+        }
+    }
+
+    public synchronized void clear() {
+        elements.clear();
+        served.clear();
+    }
+}
@@ -0,0 +1,133 @@
+package utils;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registro central de métricas de ejecución (contadores y tiempos)
+ * Es seguro para uso concurrente y se resume al final de la suite
+ */
+public class ExecutionMetrics {
+
+    private static final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private static final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    /**
+     * Tiempo acumulado con histograma por rangos (en milisegundos)
+     */
+    public static class Timer {
+        private static final long[] BUCKET_LIMITS_MS = {1, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000};
+
+        private final long[] buckets = new long[BUCKET_LIMITS_MS.length + 1];
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+
+        public synchronized void record(long nanos) {
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+
+            long millis = nanos / 1_000_000;
+            int index = 0;
+            while (index < BUCKET_LIMITS_MS.length && millis >= BUCKET_LIMITS_MS[index]) {
+                index++;
+            }
+            buckets[index]++;
+        }
+
+        public synchronized long getCount() {
+            return count;
+        }
+
+        public synchronized double getTotalMillis() {
+            return totalNanos / 1_000_000.0;
+        }
+
+        public synchronized double getAverageMillis() {
+            return count == 0 ? 0 : totalNanos / 1_000_000.0 / count;
+        }
+
+        public synchronized double getMaxMillis() {
+            return maxNanos / 1_000_000.0;
+        }
+
+        /**
+         * Percentil aproximado: límite superior del rango donde cae el percentil
+         * @param percentile Valor entre 0 y 100
+         */
+        public synchronized long getPercentileMillis(double percentile) {
+            if (count == 0) return 0;
+            long target = (long) Math.ceil(count * percentile / 100.0);
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= target) {
+                    return i < BUCKET_LIMITS_MS.length ? BUCKET_LIMITS_MS[i] : (long) getMaxMillis();
+                }
+            }
+            return (long) getMaxMillis();
+        }
+
+        @Override
+        public synchronized String toString() {
+            return String.format("count=%d, total=%.1fms, avg=%.2fms, p95<=%dms, max=%.1fms",
+                    count, getTotalMillis(), getAverageMillis(), getPercentileMillis(95), getMaxMillis());
+        }
+    }
+
+    public static void increment(String name) {
+        add(name, 1);
+    }
+
+    public static void add(String name, long delta) {
+        counters.computeIfAbsent(name, key -> new LongAdder()).add(delta);
+    }
+
+    public static long getCount(String name) {
+        LongAdder counter = counters.get(name);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    public static void recordNanos(String name, long nanos) {
+        getTimer(name).record(nanos);
+    }
+
+    public static void recordSince(String name, long startNanos) {
+        recordNanos(name, System.nanoTime() - startNanos);
+    }
+
+    public static Timer getTimer(String name) {
+        return timers.computeIfAbsent(name, key -> new Timer());
+    }
+
+    /**
+     * Calcula un ratio entre dos contadores (0 si el denominador es 0)
+     */
+    public static double ratio(String numerator, String... denominators) {
+        long total = 0;
+        for (String name : denominators) {
+            total += getCount(name);
+        }
+        return total == 0 ? 0 : (double) getCount(numerator) / total;
+    }
+
+    /**
+     * Resumen legible de todas las métricas registradas, ordenado por nombre
+     */
+    public static String summary() {
+        StringBuilder summary = new StringBuilder();
+        new TreeMap<>(counters).forEach((name, value) ->
+                summary.append(String.format("%n  %s = %d", name, value.sum())));
+        new TreeMap<>(timers).forEach((name, timer) ->
+                summary.append(String.format("%n  %s: %s", name, timer)));
+        return summary.length() == 0 ? " (sin métricas registradas)" : summary.toString();
+    }
+
+    public static void reset() {
+        counters.clear();
+        timers.clear();
+    }
+}
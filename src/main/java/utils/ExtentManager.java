@@ -3,39 +3,70 @@ package utils;
 import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.Markup;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
 import com.aventstack.extentreports.reporter.configuration.Theme;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
+/**
+ * Gestiona la instancia única de ExtentReports y el test activo por hilo.
+ * ExtentReports publica cada log en sujetos RxJava que no admiten llamadas concurrentes,
+ * por eso toda escritura al reporte pasa por REPORT_LOCK (ver {@link #log}).
+ * Los pasos con screenshot llegan por ScreenshotPipeline; las escrituras directas esperan primero
+ * a que se escriban los pasos encolados del mismo test para conservar el orden.
+ */
 public class ExtentManager {
-    private static ExtentReports extent;
+    private static final Object REPORT_LOCK = new Object();
+    private static volatile ExtentReports extent;
     private static ThreadLocal<ExtentTest> test = new ThreadLocal<>();
+    private static volatile String runName;
 
     public static void createInstance() {
-        if (extent == null) {
-            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss"));
-            String reportPath = System.getProperty("user.dir") + "/reports/ExtentReport_" + timestamp + ".html";
-
-            ExtentSparkReporter sparkReporter = new ExtentSparkReporter(reportPath);
-            sparkReporter.config().setTheme(Theme.DARK);
-            sparkReporter.config().setDocumentTitle("ToolsQA Automation Report");
-            sparkReporter.config().setReportName("Test Execution Report");
-            sparkReporter.config().setTimeStampFormat("EEEE, MMMM dd, yyyy, hh:mm a '('zzz')'");
-
-            extent = new ExtentReports();
-            extent.attachReporter(sparkReporter);
-            extent.setSystemInfo("OS", System.getProperty("os.name"));
-            extent.setSystemInfo("Java Version", System.getProperty("java.version"));
-            extent.setSystemInfo("Browser", "Chrome");
-            extent.setSystemInfo("Environment", "QA");
-            extent.setSystemInfo("User", System.getProperty("user.name"));
+        synchronized (REPORT_LOCK) {
+            if (extent == null) {
+                extent = buildInstance();
+            }
         }
     }
 
+    private static ExtentReports buildInstance() {
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss"));
+        String reportPath = System.getProperty("user.dir") + "/reports/ExtentReport_" + timestamp + ".html";
+        runName = timestamp;
+
+        ExtentSparkReporter sparkReporter = new ExtentSparkReporter(reportPath);
+        sparkReporter.config().setTheme(Theme.DARK);
+        sparkReporter.config().setDocumentTitle("ToolsQA Automation Report");
+        sparkReporter.config().setReportName("Test Execution Report");
+        sparkReporter.config().setTimeStampFormat("EEEE, MMMM dd, yyyy, hh:mm a '('zzz')'");
+
+        ExtentReports reports = new ExtentReports();
+        reports.attachReporter(sparkReporter);
+        reports.setSystemInfo("OS", System.getProperty("os.name"));
+        reports.setSystemInfo("Java Version", System.getProperty("java.version"));
+        reports.setSystemInfo("Browser", "Chrome");
+        reports.setSystemInfo("Environment", "QA");
+        reports.setSystemInfo("User", System.getProperty("user.name"));
+        return reports;
+    }
+
+    /**
+     * Nombre de la ejecución (timestamp del reporte): los archivos de la ejecución van en reports/&lt;run&gt;/
+     */
+    public static String getRunName() {
+        if (runName == null) {
+            createInstance();
+        }
+        return runName;
+    }
+
     public static ExtentTest createTest(String testName, String description) {
-        ExtentTest extentTest = extent.createTest(testName, description);
+        ExtentTest extentTest;
+        synchronized (REPORT_LOCK) {
+            extentTest = extent.createTest(testName, description);
+        }
         test.set(extentTest);
         return extentTest;
     }
@@ -44,9 +75,57 @@ public class ExtentManager {
         return test.get();
     }
 
+    /**
+     * Escribe una entrada en el test activo del hilo actual
+     */
+    public static void log(Status status, String details) {
+        log(getTest(), status, details);
+    }
+
+    /**
+     * Escribe una entrada en un test concreto, serializada con el resto de escrituras del reporte
+     */
+    public static void log(ExtentTest extentTest, Status status, String details) {
+        if (extentTest == null) {
+            return;
+        }
+        ScreenshotPipeline.awaitTest(extentTest);
+        append(extentTest, status, details);
+    }
+
+    /**
+     * Escritura sin esperar la cola del test (la usa ScreenshotPipeline, que ya escribe en orden)
+     */
+    static void append(ExtentTest extentTest, Status status, String details) {
+        synchronized (REPORT_LOCK) {
+            extentTest.log(status, details);
+        }
+    }
+
+    public static void log(ExtentTest extentTest, Status status, Markup markup) {
+        if (extentTest == null) {
+            return;
+        }
+        ScreenshotPipeline.awaitTest(extentTest);
+        synchronized (REPORT_LOCK) {
+            extentTest.log(status, markup);
+        }
+    }
+
     public static void flushReport() {
-        if (extent != null) {
-            extent.flush();
+        ScreenshotPipeline.drain();
+        synchronized (REPORT_LOCK) {
+            if (extent != null) {
+                extent.flush();
+            }
+        }
+    }
+
+    public static void addSystemInfo(String key, String value) {
+        synchronized (REPORT_LOCK) {
+            if (extent != null) {
+                extent.setSystemInfo(key, value);
+            }
         }
     }
 
@@ -59,7 +138,7 @@ public class ExtentManager {
         ExtentTest currentTest = getTest();
         if (currentTest != null) {
             Status status = isPassed ? Status.PASS : Status.FAIL;
-            currentTest.log(status, stepDescription);
+            log(currentTest, status, stepDescription);
 
             if (takeScreenshot) {
                 captureScreenshotForStep(stepDescription);
@@ -78,7 +157,7 @@ public class ExtentManager {
             // Obtener el driver del thread actual (necesitaremos pasarlo como parámetro)
             // Por ahora, lo manejaremos desde BaseTest
         } catch (Exception e) {
-            getTest().log(Status.WARNING, "No se pudo capturar screenshot: " + e.getMessage());
+            log(Status.WARNING, "No se pudo capturar screenshot: " + e.getMessage());
         }
     }
 }
\ No newline at end of file
@@ -39,10 +39,10 @@ public class ExtentTestListener implements ITestListener {
     @Override
     public void onTestFailure(ITestResult result) {
         ExtentTest test = ExtentManager.getTest();
-        test.log(Status.FAIL, MarkupHelper.createLabel("Test FAILED: " + result.getMethod().getMethodName(), ExtentColor.RED));
+        ExtentManager.log(test, Status.FAIL, MarkupHelper.createLabel("Test FAILED: " + result.getMethod().getMethodName(), ExtentColor.RED));
 
         // Log del error
-        test.log(Status.FAIL, "Failure reason: " + result.getThrowable().getMessage());
+        ExtentManager.log(test, Status.FAIL, "Failure reason: " + result.getThrowable().getMessage());
 
         // OPCIONAL: Solo capturar screenshot en fallas si no hay ninguno en los steps
         // captureScreenshot(result, "FAILED", "error");
@@ -51,8 +51,15 @@ public class ExtentTestListener implements ITestListener {
     @Override
     public void onTestSkipped(ITestResult result) {
         ExtentTest test = ExtentManager.getTest();
-        test.log(Status.SKIP, MarkupHelper.createLabel("Test SKIPPED: " + result.getMethod().getMethodName(), ExtentColor.YELLOW));
-        test.log(Status.SKIP, "Skip reason: " + result.getThrowable().getMessage());
+        if (result.wasRetried()) {
+            // Caída del navegador: el test se reintenta en una sesión nueva (SessionRecoveryListener)
+            ExtentManager.log(test, Status.WARNING, MarkupHelper.createLabel("Test RETRIED after browser crash: " + result.getMethod().getMethodName(), ExtentColor.ORANGE));
+        } else {
+            ExtentManager.log(test, Status.SKIP, MarkupHelper.createLabel("Test SKIPPED: " + result.getMethod().getMethodName(), ExtentColor.YELLOW));
+        }
+        if (result.getThrowable() != null) {
+            ExtentManager.log(test, Status.SKIP, "Skip reason: " + result.getThrowable().getMessage());
+        }
     }
 
     @Override
@@ -72,11 +79,11 @@ public class ExtentTestListener implements ITestListener {
                 if (driver != null) {
                     String base64Screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BASE64);
                     String imageHtml = ScreenshotUtils.generateScreenshotHtml(base64Screenshot, styleName, status);
-                    ExtentManager.getTest().log(Status.INFO, imageHtml);
+                    ExtentManager.log(Status.INFO, imageHtml);
                 }
             }
         } catch (Exception e) {
-            ExtentManager.getTest().log(Status.WARNING, ScreenshotUtils.getErrorMessage() + ": " + e.getMessage());
+            ExtentManager.log(Status.WARNING, ScreenshotUtils.getErrorMessage() + ": " + e.getMessage());
         }
     }
 }
\ No newline at end of file
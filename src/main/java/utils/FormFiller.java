@@ -0,0 +1,240 @@
+package utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Llenado de formularios en bloque: todos los campos en un solo executeScript.
+ * Inputs y textareas reciben el valor por el setter nativo (compatible con React/Angular) seguido de
+ * los eventos input y change; los select se eligen con las estrategias de {@link DropdownMatcher}; checkboxes y radios
+ * se marcan o desmarcan con un clic real dentro de la página.
+ * Los campos que necesitan eventos de teclado (autocompletados, máscaras) se declaran con {@link #type}
+ * y se escriben con sendKeys después del bloque. Con form.fill.typing=true todos los de texto se escriben así.
+ *
+ * Ejemplo:
+ * FormFiller.on(driver, "CreateAccountPage")
+ *     .set(firstNameInput, "Mateo")
+ *     .set(countryInput, "Canada")
+ *     .set(newsletterCheckbox, true)
+ *     .fill();
+ */
+public class FormFiller {
+    private static final Logger logger = LoggerFactory.getLogger(FormFiller.class);
+
+    public static final String METRIC_FILL = "form.fill";
+    public static final String METRIC_FIELDS = "form.fill.fields";
+    public static final String METRIC_TYPED = "form.fill.typed";
+
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
+    private static final long RETRY_INTERVAL_MILLIS = 100;
+    private static final String OK = "ok";
+    private static final String MISSING = "missing";
+
+    // Devuelve por campo: "ok", "missing" o el motivo del error
+    private static final String FILL_SCRIPT = DomWaiter.FIND_FUNCTION + DropdownMatcher.PICK_FUNCTION +
+            "var fields = arguments[0], results = [];" +
+            "function setNative(el, prop, value) {" +
+            "  var desc = Object.getOwnPropertyDescriptor(Object.getPrototypeOf(el), prop);" +
+            "  if (desc && desc.set) { desc.set.call(el, value); } else { el[prop] = value; }" +
+            "}" +
+            "function fire(el, type) { el.dispatchEvent(new Event(type, {bubbles: true})); }" +
+            "function fill(el, value) {" +
+            "  var tag = el.tagName.toLowerCase(), type = (el.type || '').toLowerCase();" +
+            "  if (el.disabled) return 'disabled';" +
+            "  if (tag === 'select') {" +
+            "    var match = pick(el, value);" +
+            "    if (!match || !match.option) {" +
+            "      var texts = (match ? match.candidates : Array.prototype.map.call(el.options, function(o) { return o.text.trim(); }))" +
+            "        .slice(0, 15).map(function(text) { return \"'\" + text + \"'\"; });" +
+            "      return (match ? 'ambiguous ' : 'no option ') + JSON.stringify(String(value)) + ', options: ' + texts.join(', ');" +
+            "    }" +
+            "    choose(el, match.option);" +
+            "    return 'ok';" +
+            "  }" +
+            "  if (type === 'checkbox' || type === 'radio') {" +
+            "    var wanted = value === true || String(value).toLowerCase() === 'true';" +
+            "    if (type === 'radio' && !wanted) return 'ok';" +
+            "    if (el.checked !== wanted) el.click();" +
+            "    if (el.checked !== wanted) { setNative(el, 'checked', wanted); fire(el, 'input'); fire(el, 'change'); }" +
+            "    return 'ok';" +
+            "  }" +
+            "  if (el.readOnly) return 'read-only';" +
+            "  el.focus();" +
+            "  setNative(el, 'value', String(value));" +
+            "  fire(el, 'input'); fire(el, 'change');" +
+            "  el.blur();" +
+            "  return 'ok';" +
+            "}" +
+            "for (var i = 0; i < fields.length; i++) {" +
+            "  try {" +
+            "    var el = find(fields[i][0], fields[i][1]);" +
+            "    results.push(el ? fill(el, fields[i][2]) : 'missing');" +
+            "  } catch (e) { results.push('error: ' + e.message); }" +
+            "}" +
+            "return results;";
+
+    private final WebDriver driver;
+    private final String pageName;
+    private final Map<By, Object> scripted = new LinkedHashMap<>();
+    private final Map<By, String> typed = new LinkedHashMap<>();
+
+    private FormFiller(WebDriver driver, String pageName) {
+        this.driver = driver;
+        this.pageName = pageName;
+    }
+
+    public static FormFiller on(WebDriver driver) {
+        return new FormFiller(driver, null);
+    }
+
+    /**
+     * @param pageName Página del formulario, para los timeouts adaptativos de los campos escritos con teclado
+     */
+    public static FormFiller on(WebDriver driver, String pageName) {
+        return new FormFiller(driver, pageName);
+    }
+
+    /**
+     * Input o textarea (valor), select (texto visible, sin acentos, value o prefijo único)
+     */
+    public FormFiller set(By locator, String value) {
+        if (value != null) {
+            scripted.put(locator, value);
+        }
+        return this;
+    }
+
+    /**
+     * Checkbox (marcar/desmarcar) o radio (true lo selecciona)
+     */
+    public FormFiller set(By locator, boolean checked) {
+        scripted.put(locator, checked);
+        return this;
+    }
+
+    /**
+     * Varios campos de una vez: valores String para texto y selects, Boolean para checkboxes y radios
+     */
+    public FormFiller setAll(Map<By, ?> fields) {
+        fields.forEach((locator, value) -> {
+            if (value instanceof Boolean) {
+                set(locator, (Boolean) value);
+            } else if (value != null) {
+                set(locator, String.valueOf(value));
+            }
+        });
+        return this;
+    }
+
+    /**
+     * Campo que se escribe tecla a tecla con sendKeys (genera keydown/keyup reales)
+     */
+    public FormFiller type(By locator, String value) {
+        if (value != null) {
+            scripted.remove(locator);
+            typed.put(locator, value);
+        }
+        return this;
+    }
+
+    public void fill() {
+        fill(DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Llena el formulario. Los campos que todavía no existen se reintentan hasta el timeout.
+     * @throws RuntimeException si un campo falta, está deshabilitado o el select no tiene la opción
+     */
+    public void fill(Duration timeout) {
+        long start = System.nanoTime();
+        try {
+            Map<By, Object> inPage = new LinkedHashMap<>();
+            Map<By, String> keyboard = new LinkedHashMap<>(typed);
+            boolean typeAll = ConfigReader.isFormFillTyping();
+            scripted.forEach((locator, value) -> {
+                // Localizadores que no se pueden evaluar en la página (p. ej. ByChained) van por teclado
+                boolean remotable = DomWaiter.remoteParameters(locator) != null;
+                if (value instanceof String && (typeAll || !remotable)) {
+                    keyboard.put(locator, (String) value);
+                } else if (remotable) {
+                    inPage.put(locator, value);
+                } else {
+                    throw new IllegalArgumentException("Localizador no soportado para llenado en bloque: " + locator);
+                }
+            });
+
+            if (!inPage.isEmpty()) {
+                fillInPage(inPage, start + timeout.toNanos());
+            }
+            keyboard.forEach((locator, value) -> typeInto(locator, value, timeout));
+            ExecutionMetrics.add(METRIC_FIELDS, inPage.size());
+            ExecutionMetrics.add(METRIC_TYPED, keyboard.size());
+        } finally {
+            ExecutionMetrics.recordSince(METRIC_FILL, start);
+        }
+    }
+
+    private void fillInPage(Map<By, Object> fields, long deadline) {
+        Map<By, Object> pending = new LinkedHashMap<>(fields);
+        while (true) {
+            List<By> locators = new ArrayList<>(pending.keySet());
+            List<List<Object>> arguments = new ArrayList<>();
+            for (By locator : locators) {
+                By.Remotable.Parameters parameters = DomWaiter.remoteParameters(locator);
+                arguments.add(List.of(parameters.using(), String.valueOf(parameters.value()), pending.get(locator)));
+            }
+
+            List<?> results = (List<?>) ((JavascriptExecutor) driver).executeScript(FILL_SCRIPT, arguments);
+
+            List<String> errors = new ArrayList<>();
+            for (int i = 0; i < locators.size(); i++) {
+                String result = String.valueOf(results.get(i));
+                if (OK.equals(result)) {
+                    pending.remove(locators.get(i));
+                } else if (!MISSING.equals(result)) {
+                    errors.add(locators.get(i) + " (" + result + ")");
+                }
+            }
+            if (!errors.isEmpty()) {
+                throw new RuntimeException("No se pudieron llenar los campos: " + String.join("; ", errors));
+            }
+            if (pending.isEmpty()) {
+                return;
+            }
+            if (System.nanoTime() >= deadline) {
+                throw new RuntimeException("Campos no encontrados en el formulario: " + pending.keySet());
+            }
+            logger.debug("Waiting for {} form field(s) to appear", pending.size());
+            try {
+                Thread.sleep(RETRY_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Llenado del formulario interrumpido", e);
+            }
+        }
+    }
+
+    private void typeInto(By locator, String value, Duration timeout) {
+        Duration resolved = AdaptiveTimeouts.resolve(pageName, locator, timeout);
+        WebElement field = WaitFactory.forDriver(driver)
+                .wait(pageName, locator, resolved, WaitPolicy.Policy.EXPLICIT)
+                .until(ExpectedConditions.elementToBeClickable(locator));
+        if ("select".equalsIgnoreCase(field.getTagName())) {
+            DropdownMatcher.select(driver, field, value);
+            return;
+        }
+        field.clear();
+        field.sendKeys(value);
+    }
+}
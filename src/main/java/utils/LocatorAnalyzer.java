@@ -0,0 +1,232 @@
+package utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Analiza el costo de los localizadores de los page objects contra el DOM cargado en la sesión.
+ * Encuentra por reflexión los campos By de cada página (incluidos los heredados), mide cada uno dentro
+ * del navegador (promedio de varias evaluaciones, sin el costo del protocolo WebDriver) y marca:
+ * SLOW (más lento que locator.analyzer.slow.micros), AMBIGUOUS (más de un elemento), MISSING (ninguno en este DOM),
+ * FULL_SCAN (XPath que recorre todo el documento: //*, //text(), contains(text()...)) y REWRITE (tiene equivalente id/CSS).
+ * El reporte se ordena de mayor a menor costo.
+ *
+ * Ejemplo (con la página ya cargada):
+ * logger.info(LocatorAnalyzer.report(LocatorAnalyzer.analyze(driver, new HomePage(driver))));
+ */
+public class LocatorAnalyzer {
+    private static final Logger logger = LoggerFactory.getLogger(LocatorAnalyzer.class);
+
+    // Devuelve {count, micros}: elementos encontrados y microsegundos promedio por evaluación
+    private static final String BENCHMARK_SCRIPT =
+            "var using = arguments[0], value = arguments[1], iterations = arguments[2];" +
+            "function findAll() {" +
+            "  switch (using) {" +
+            "    case 'css selector': return document.querySelectorAll(value).length;" +
+            "    case 'xpath': return document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null).snapshotLength;" +
+            "    case 'tag name': return document.getElementsByTagName(value).length;" +
+            "    case 'link text': case 'partial link text':" +
+            "      var links = document.getElementsByTagName('a'), count = 0;" +
+            "      for (var i = 0; i < links.length; i++) {" +
+            "        var text = (links[i].innerText || '').trim();" +
+            "        if (using === 'link text' ? text === value : text.indexOf(value) >= 0) count++;" +
+            "      }" +
+            "      return count;" +
+            "  }" +
+            "  throw new Error('unsupported locator: ' + using);" +
+            "}" +
+            "var count = findAll(), start = performance.now();" +
+            "for (var n = 0; n < iterations; n++) { findAll(); }" +
+            "return {count: count, micros: (performance.now() - start) * 1000 / iterations};";
+
+    public enum Flag {
+        SLOW,
+        AMBIGUOUS,
+        MISSING,
+        FULL_SCAN,
+        REWRITE
+    }
+
+    /**
+     * Resultado de un localizador
+     */
+    public static class LocatorCost {
+        private final String page;
+        private final String field;
+        private final By locator;
+        private final double micros;
+        private final long matches;
+        private final By rewritten;
+        private final double rewrittenMicros;
+        private final Set<Flag> flags;
+
+        private LocatorCost(String page, String field, By locator, double micros, long matches,
+                            By rewritten, double rewrittenMicros, Set<Flag> flags) {
+            this.page = page;
+            this.field = field;
+            this.locator = locator;
+            this.micros = micros;
+            this.matches = matches;
+            this.rewritten = rewritten;
+            this.rewrittenMicros = rewrittenMicros;
+            this.flags = flags;
+        }
+
+        public String getPage() {
+            return page;
+        }
+
+        public String getField() {
+            return field;
+        }
+
+        public By getLocator() {
+            return locator;
+        }
+
+        public double getMicros() {
+            return micros;
+        }
+
+        public long getMatches() {
+            return matches;
+        }
+
+        public By getRewritten() {
+            return rewritten;
+        }
+
+        public Set<Flag> getFlags() {
+            return flags;
+        }
+    }
+
+    private LocatorAnalyzer() {
+    }
+
+    /**
+     * Mide todos los campos By de las páginas contra el DOM actual de la sesión
+     * @param driver Sesión con la página ya cargada
+     * @param pageObjects Instancias de page objects cuyos localizadores se analizan
+     * @return Costos ordenados de mayor a menor
+     */
+    public static List<LocatorCost> analyze(WebDriver driver, Object... pageObjects) {
+        List<LocatorCost> costs = new ArrayList<>();
+        for (Object page : pageObjects) {
+            for (Map.Entry<String, By> field : byFields(page).entrySet()) {
+                costs.add(measure(driver, page.getClass().getSimpleName(), field.getKey(), field.getValue()));
+            }
+        }
+        costs.sort(Comparator.comparingDouble(LocatorCost::getMicros).reversed());
+        return costs;
+    }
+
+    /**
+     * Campos By declarados en la clase y sus superclases
+     */
+    static Map<String, By> byFields(Object page) {
+        Map<String, By> fields = new LinkedHashMap<>();
+        for (Class<?> type = page.getClass(); type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (!By.class.isAssignableFrom(field.getType())) {
+                    continue;
+                }
+                try {
+                    field.setAccessible(true);
+                    Object value = field.get(page);
+                    if (value != null) {
+                        fields.putIfAbsent(field.getName(), (By) value);
+                    }
+                } catch (IllegalAccessException | RuntimeException e) {
+                    logger.debug("Skipping locator field {}.{}: {}", type.getSimpleName(), field.getName(), e.getMessage());
+                }
+            }
+        }
+        return fields;
+    }
+
+    private static LocatorCost measure(WebDriver driver, String page, String field, By locator) {
+        Set<Flag> flags = new LinkedHashSet<>();
+        double[] original = benchmark(driver, locator);
+        By rewritten = LocatorRewriter.rewrite(locator);
+        double rewrittenMicros = -1;
+        if (rewritten != locator) {
+            flags.add(Flag.REWRITE);
+            rewrittenMicros = benchmark(driver, rewritten)[0];
+        }
+
+        if (original[0] > ConfigReader.getLocatorAnalyzerSlowMicros()) {
+            flags.add(Flag.SLOW);
+        }
+        if (original[1] > 1) {
+            flags.add(Flag.AMBIGUOUS);
+        } else if (original[1] == 0) {
+            flags.add(Flag.MISSING);
+        }
+        if (isFullScan(locator)) {
+            flags.add(Flag.FULL_SCAN);
+        }
+        return new LocatorCost(page, field, locator, original[0], (long) original[1], rewritten, rewrittenMicros, flags);
+    }
+
+    /**
+     * @return {microsegundos promedio, elementos encontrados}
+     */
+    private static double[] benchmark(WebDriver driver, By locator) {
+        By.Remotable.Parameters parameters = locator instanceof By.Remotable
+                ? ((By.Remotable) locator).getRemoteParameters() : null;
+        try {
+            if (parameters != null && driver instanceof JavascriptExecutor) {
+                Map<?, ?> result = (Map<?, ?>) ((JavascriptExecutor) driver).executeScript(BENCHMARK_SCRIPT,
+                        parameters.using(), String.valueOf(parameters.value()), ConfigReader.getLocatorAnalyzerIterations());
+                return new double[]{((Number) result.get("micros")).doubleValue(), ((Number) result.get("count")).doubleValue()};
+            }
+        } catch (WebDriverException e) {
+            logger.debug("In-page benchmark failed for {}: {}", locator, e.getMessage());
+        }
+        // Localizadores no evaluables en la página: una ida y vuelta de findElements
+        long start = System.nanoTime();
+        int count = WaitPolicy.apply(driver, WaitPolicy.Policy.NEGATIVE, () -> driver.findElements(locator).size());
+        return new double[]{(System.nanoTime() - start) / 1_000.0, count};
+    }
+
+    private static boolean isFullScan(By locator) {
+        if (!(locator instanceof By.Remotable)) {
+            return false;
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+        String value = String.valueOf(parameters.value()).replace(" ", "");
+        return "xpath".equals(parameters.using())
+                && (value.startsWith("//*") || value.startsWith("//text()") || value.contains("contains(text()"));
+    }
+
+    /**
+     * Tabla del análisis ordenada por costo
+     */
+    public static String report(List<LocatorCost> costs) {
+        StringBuilder report = new StringBuilder(String.format("%n  %-10s %-8s %-10s %-36s %-22s %s",
+                "cost(us)", "matches", "rewrite", "flags", "page.field", "locator"));
+        for (LocatorCost cost : costs) {
+            report.append(String.format("%n  %-10.1f %-8d %-10s %-36s %-22s %s",
+                    cost.micros, cost.matches,
+                    cost.rewrittenMicros < 0 ? "-" : String.format("%.1f", cost.rewrittenMicros),
+                    cost.flags.isEmpty() ? "-" : cost.flags.toString(),
+                    cost.page + "." + cost.field,
+                    cost.locator + (cost.rewritten != cost.locator ? "  ->  " + cost.rewritten : "")));
+        }
+        return report.toString();
+    }
+}
@@ -0,0 +1,117 @@
+package utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.decorators.Decorated;
+import org.openqa.selenium.support.decorators.WebDriverDecorator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reescribe XPath simples a su equivalente By.id / CSS, que el navegador resuelve sin recorrer el DOM con el motor XPath.
+ * Solo traduce formas sin ambigüedad: //tag[@attr='valor'] con uno o varios predicados de igualdad de atributo
+ * (//input[@id='password'] → input#password, //button[@data-qa='login-button'] → button[data-qa='login-button']).
+ * Cualquier otra expresión (texto, contains, ejes, posiciones) se deja igual.
+ *
+ * Con locator.rewrite.enabled=true el driver de cada sesión se decora para aplicar la reescritura
+ * de forma transparente en findElement/findElements (también en las esperas de ExpectedConditions).
+ */
+public class LocatorRewriter {
+    private static final Logger logger = LoggerFactory.getLogger(LocatorRewriter.class);
+
+    public static final String METRIC_REWRITTEN = "locator.rewritten";
+
+    private static final Pattern SIMPLE_XPATH = Pattern.compile("^//([a-zA-Z][\\w-]*|\\*)((?:\\[[^\\[\\]]+\\])+)$");
+    private static final Pattern PREDICATE = Pattern.compile("\\[([^\\[\\]]+)\\]");
+    private static final Pattern ATTRIBUTE_EQUALS =
+            Pattern.compile("^\\s*@([a-zA-Z_][\\w-]*)\\s*=\\s*(?:'([^'\\\\\"]*)'|\"([^\"\\\\']*)\")\\s*$");
+    private static final Pattern CSS_IDENTIFIER = Pattern.compile("^[a-zA-Z_][\\w-]*$");
+
+    // El resultado (o el mismo By si no se puede reescribir) se calcula una vez por localizador
+    private static final Map<String, By> rewrites = new ConcurrentHashMap<>();
+
+    private LocatorRewriter() {
+    }
+
+    /**
+     * Equivalente más rápido del localizador, o el mismo si no hay uno exacto
+     */
+    public static By rewrite(By locator) {
+        if (!(locator instanceof By.Remotable)) {
+            return locator;
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+        if (!"xpath".equals(parameters.using())) {
+            return locator;
+        }
+        By rewritten = rewrites.computeIfAbsent(String.valueOf(parameters.value()), LocatorRewriter::translate);
+        return rewritten == null ? locator : rewritten;
+    }
+
+    public static boolean isRewritable(By locator) {
+        return rewrite(locator) != locator;
+    }
+
+    private static By translate(String xpath) {
+        Matcher matcher = SIMPLE_XPATH.matcher(xpath.trim());
+        if (!matcher.matches()) {
+            return null;
+        }
+        String tag = matcher.group(1);
+        List<String[]> attributes = new ArrayList<>();
+        Matcher predicates = PREDICATE.matcher(matcher.group(2));
+        while (predicates.find()) {
+            // [@a='x' and @b='y'] equivale a [@a='x'][@b='y']
+            for (String condition : predicates.group(1).split("\\s+and\\s+")) {
+                Matcher attribute = ATTRIBUTE_EQUALS.matcher(condition);
+                if (!attribute.matches()) {
+                    return null;
+                }
+                String value = attribute.group(2) != null ? attribute.group(2) : attribute.group(3);
+                attributes.add(new String[]{attribute.group(1), value});
+            }
+        }
+
+        if ("*".equals(tag) && attributes.size() == 1 && "id".equals(attributes.get(0)[0])) {
+            return By.id(attributes.get(0)[1]);
+        }
+        StringBuilder css = new StringBuilder("*".equals(tag) ? "" : tag);
+        for (String[] attribute : attributes) {
+            if ("id".equals(attribute[0]) && CSS_IDENTIFIER.matcher(attribute[1]).matches()) {
+                css.append('#').append(attribute[1]);
+            } else {
+                css.append('[').append(attribute[0]).append("='").append(attribute[1]).append("']");
+            }
+        }
+        return css.length() == 0 ? null : By.cssSelector(css.toString());
+    }
+
+    /**
+     * Decora el driver para reescribir los localizadores de findElement/findElements (del driver y de sus elementos)
+     */
+    public static WebDriver decorate(WebDriver driver) {
+        logger.info("Locator rewriting enabled: simple XPath locators are resolved as id/CSS");
+        return new WebDriverDecorator<>() {
+            @Override
+            public Object call(Decorated<?> target, Method method, Object[] args) throws Throwable {
+                if (args != null && args.length == 1 && args[0] instanceof By
+                        && ("findElement".equals(method.getName()) || "findElements".equals(method.getName()))) {
+                    By rewritten = rewrite((By) args[0]);
+                    if (rewritten != args[0]) {
+                        ExecutionMetrics.increment(METRIC_REWRITTEN);
+                        args = new Object[]{rewritten};
+                    }
+                }
+                return super.call(target, method, args);
+            }
+        }.decorate(driver);
+    }
+}
@@ -0,0 +1,58 @@
+package utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+
+/**
+ * Navegación con medición de tiempos por perfil de navegación
+ * Registra el tiempo de driver.get() y los hitos de la Navigation Timing API del navegador
+ */
+public class NavigationTimer {
+    private static final Logger logger = LoggerFactory.getLogger(NavigationTimer.class);
+
+    private static final String TIMING_SCRIPT =
+            "var nav = performance.getEntriesByType('navigation')[0];" +
+            "if (!nav) return null;" +
+            "return {domContentLoaded: Math.round(nav.domContentLoadedEventEnd)," +
+            "        load: Math.round(nav.loadEventEnd)," +
+            "        resources: performance.getEntriesByType('resource').length};";
+
+    /**
+     * Navega a la URL y registra los tiempos bajo el perfil de navegación activo
+     * @param driver Sesión del navegador
+     * @param url URL destino
+     */
+    public static void navigate(WebDriver driver, String url) {
+        String prefix = "navigation." + ConfigReader.getNavigationProfile().toLowerCase();
+        long start = System.nanoTime();
+        ElementCache.invalidate(driver);
+        driver.get(url);
+        long elapsedNanos = System.nanoTime() - start;
+        ExecutionMetrics.recordNanos(prefix + ".get", elapsedNanos);
+
+        try {
+            Object result = ((JavascriptExecutor) driver).executeScript(TIMING_SCRIPT);
+            if (result instanceof Map) {
+                Map<?, ?> timing = (Map<?, ?>) result;
+                recordMillis(prefix + ".domContentLoaded", timing.get("domContentLoaded"));
+                recordMillis(prefix + ".load", timing.get("load"));
+                logger.debug("Navigated to {} in {} ms (domContentLoaded={} ms, load={} ms, resources={})",
+                        url, elapsedNanos / 1_000_000, timing.get("domContentLoaded"),
+                        timing.get("load"), timing.get("resources"));
+            }
+        } catch (Exception e) {
+            logger.debug("Navigation timing not available for {}: {}", url, e.getMessage());
+        }
+    }
+
+    private static void recordMillis(String name, Object value) {
+        // loadEventEnd es 0 mientras la carga sigue en curso (estrategias eager/none)
+        if (value instanceof Number && ((Number) value).longValue() > 0) {
+            ExecutionMetrics.recordNanos(name, ((Number) value).longValue() * 1_000_000);
+        }
+    }
+}
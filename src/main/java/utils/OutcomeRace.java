@@ -0,0 +1,157 @@
+package utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Carrera entre los posibles resultados de una acción (banner de error, elemento de éxito, cambio de URL).
+ * Vigila todos a la vez y responde apenas uno se cumple, en lugar de esperar el timeout completo
+ * por un error que casi nunca aparece. Los elementos se leen juntos con un DomSnapshot por sondeo.
+ * Si en el mismo sondeo se cumplen varios gana el declarado primero: declarar los errores antes que el éxito.
+ *
+ * Ejemplo:
+ * OutcomeRace.Result&lt;Login&gt; result = helpers.&lt;Login&gt;newRace()
+ *     .whenVisible(Login.INVALID_CREDENTIALS, loginErrorMessage)
+ *     .whenVisible(Login.LOGGED_IN, logoutButton)
+ *     .race(Duration.ofSeconds(10));
+ *
+ * @param <T> Tipo de los resultados (normalmente un enum de la página)
+ */
+public class OutcomeRace<T> {
+
+    public static final String METRIC_RACE = "outcome.race";
+    public static final String METRIC_OUTCOME_PREFIX = "outcome.race.";
+
+    private final WebDriver driver;
+    private final Set<By> watchedLocators = new LinkedHashSet<>();
+    private final List<Candidate<T>> candidates = new ArrayList<>();
+
+    private static class Candidate<T> {
+        private final T outcome;
+        private final By locator;
+        private final Predicate<String> urlCondition;
+
+        private Candidate(T outcome, By locator, Predicate<String> urlCondition) {
+            this.outcome = outcome;
+            this.locator = locator;
+            this.urlCondition = urlCondition;
+        }
+    }
+
+    /**
+     * Resultado de la carrera: el ganador (null si venció el timeout), su texto y el tiempo que tardó
+     */
+    public static class Result<T> {
+        private final T outcome;
+        private final String text;
+        private final Duration elapsed;
+
+        private Result(T outcome, String text, Duration elapsed) {
+            this.outcome = outcome;
+            this.text = text;
+            this.elapsed = elapsed;
+        }
+
+        public T getOutcome() {
+            return outcome;
+        }
+
+        public boolean is(T expected) {
+            return outcome != null && outcome.equals(expected);
+        }
+
+        public boolean isTimedOut() {
+            return outcome == null;
+        }
+
+        /**
+         * Texto del elemento ganador (vacío si ganó una condición de URL)
+         */
+        public String getText() {
+            return text;
+        }
+
+        public Duration getElapsed() {
+            return elapsed;
+        }
+    }
+
+    private OutcomeRace(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    public static <T> OutcomeRace<T> on(WebDriver driver) {
+        return new OutcomeRace<>(driver);
+    }
+
+    /**
+     * El resultado gana cuando el elemento está visible
+     */
+    public OutcomeRace<T> whenVisible(T outcome, By locator) {
+        watchedLocators.add(locator);
+        candidates.add(new Candidate<>(outcome, locator, null));
+        return this;
+    }
+
+    /**
+     * El resultado gana cuando la URL actual contiene el fragmento
+     */
+    public OutcomeRace<T> whenUrlContains(T outcome, String fragment) {
+        candidates.add(new Candidate<>(outcome, null, url -> url.contains(fragment)));
+        return this;
+    }
+
+    /**
+     * El resultado gana cuando la URL deja de ser la indicada (tomarla antes de la acción)
+     */
+    public OutcomeRace<T> whenUrlChangesFrom(T outcome, String originalUrl) {
+        candidates.add(new Candidate<>(outcome, null, url -> !url.equals(originalUrl)));
+        return this;
+    }
+
+    /**
+     * Corre la carrera hasta que un resultado se cumpla o venza el timeout
+     */
+    public Result<T> race(Duration timeout) {
+        if (candidates.isEmpty()) {
+            throw new IllegalStateException("La carrera no tiene resultados candidatos");
+        }
+        boolean watchesUrl = candidates.stream().anyMatch(c -> c.urlCondition != null);
+        By[] locators = watchedLocators.toArray(new By[0]);
+        long start = System.nanoTime();
+        try {
+            Result<T> result = WaitFactory.forDriver(driver).wait(timeout).until(d -> {
+                DomSnapshot snapshot = locators.length == 0 ? null : DomSnapshot.capture(d, List.of(locators));
+                String url = watchesUrl ? d.getCurrentUrl() : null;
+                for (Candidate<T> candidate : candidates) {
+                    if (candidate.locator != null && snapshot.isVisible(candidate.locator)) {
+                        return new Result<>(candidate.outcome, snapshot.getText(candidate.locator), elapsedSince(start));
+                    }
+                    if (candidate.urlCondition != null && url != null && candidate.urlCondition.test(url)) {
+                        return new Result<>(candidate.outcome, "", elapsedSince(start));
+                    }
+                }
+                return null;
+            });
+            ExecutionMetrics.increment(METRIC_OUTCOME_PREFIX + String.valueOf(result.getOutcome()).toLowerCase());
+            return result;
+        } catch (TimeoutException e) {
+            ExecutionMetrics.increment(METRIC_OUTCOME_PREFIX + "timeout");
+            return new Result<>(null, "", elapsedSince(start));
+        } finally {
+            ExecutionMetrics.recordSince(METRIC_RACE, start);
+        }
+    }
+
+    private static Duration elapsedSince(long startNanos) {
+        return Duration.ofNanos(System.nanoTime() - startNanos);
+    }
+}
@@ -0,0 +1,174 @@
+package utils;
+
+import basetest.SessionSupervisor;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Detecta cuándo una página está lista: document.readyState, peticiones fetch/XHR pendientes
+ * y una ventana sin mutaciones del DOM. Reemplaza las pausas fijas después de navegar.
+ *
+ * La instrumentación (contador de peticiones y MutationObserver) se instala al inicio de cada documento
+ * vía CDP en Chrome/Edge, así cuenta también las peticiones de los primeros scripts. En otros navegadores
+ * se instala al primer chequeo y solo ve las peticiones posteriores.
+ */
+public class PageReadiness {
+    private static final Logger logger = LoggerFactory.getLogger(PageReadiness.class);
+
+    public static final String METRIC_READY = "page.readiness";
+    public static final String METRIC_NOT_READY = "page.readiness.timeout";
+
+    // Cada llamada asíncrona dura como máximo esto, para no superar el script timeout por defecto (30 s)
+    private static final long MAX_SCRIPT_WAIT_MILLIS = 20_000;
+
+    private static final String INSTRUMENTATION_SCRIPT =
+            "(function() {" +
+            "  if (window.__e2eReadiness) return;" +
+            "  var state = window.__e2eReadiness = {pending: {}, seq: 0, lastMutation: Date.now()};" +
+            "  function start() { var id = ++state.seq; state.pending[id] = Date.now(); return id; }" +
+            "  function end(id) { delete state.pending[id]; }" +
+            "  if (window.fetch) {" +
+            "    var originalFetch = window.fetch;" +
+            "    window.fetch = function() {" +
+            "      var id = start();" +
+            "      try {" +
+            "        return originalFetch.apply(this, arguments).then(" +
+            "          function(response) { end(id); return response; }," +
+            "          function(error) { end(id); throw error; });" +
+            "      } catch (e) { end(id); throw e; }" +
+            "    };" +
+            "  }" +
+            "  if (window.XMLHttpRequest) {" +
+            "    var originalSend = XMLHttpRequest.prototype.send;" +
+            "    XMLHttpRequest.prototype.send = function() {" +
+            "      var id = start();" +
+            "      this.addEventListener('loadend', function() { end(id); });" +
+            "      try { return originalSend.apply(this, arguments); } catch (e) { end(id); throw e; }" +
+            "    };" +
+            "  }" +
+            "  new MutationObserver(function() { state.lastMutation = Date.now(); })" +
+            "    .observe(document, {childList: true, subtree: true, attributes: true, characterData: true});" +
+            "})();";
+
+    private static final String WAIT_SCRIPT =
+            "var instrumentation = arguments[0], quietMs = arguments[1], acceptInteractive = arguments[2];" +
+            "var timeout = arguments[3], maxRequestAge = arguments[4], done = arguments[arguments.length - 1];" +
+            "if (!window.__e2eReadiness) { try { (new Function(instrumentation))(); } catch (e) {} }" +
+            "var state = window.__e2eReadiness || {pending: {}, lastMutation: 0};" +
+            "var deadline = Date.now() + timeout;" +
+            "function pending() {" +
+            "  var now = Date.now(), count = 0;" +
+            // Peticiones muy largas (long polling, streaming) no bloquean la espera
+            "  for (var id in state.pending) { if (now - state.pending[id] < maxRequestAge) count++; }" +
+            "  return count;" +
+            "}" +
+            "function ready() {" +
+            "  var readyState = document.readyState;" +
+            "  return (readyState === 'complete' || (acceptInteractive && readyState === 'interactive'))" +
+            "    && pending() === 0 && Date.now() - state.lastMutation >= quietMs;" +
+            "}" +
+            "(function check() {" +
+            "  if (ready()) { done(true); return; }" +
+            "  if (Date.now() >= deadline) { done(false); return; }" +
+            "  setTimeout(check, 25);" +
+            "})();";
+
+    private PageReadiness() {
+    }
+
+    /**
+     * Instala la instrumentación al inicio de cada documento (solo Chrome/Edge, vía CDP)
+     */
+    public static void install(WebDriver driver) {
+        if (!(driver instanceof ChromiumDriver)) {
+            return;
+        }
+        try {
+            ((ChromiumDriver) driver).executeCdpCommand("Page.addScriptToEvaluateOnNewDocument",
+                    Map.of("source", INSTRUMENTATION_SCRIPT));
+        } catch (WebDriverException e) {
+            logger.warn("Could not install readiness instrumentation via CDP: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Espera hasta que la página esté lista o venza el timeout
+     * @param driver Driver de la sesión
+     * @param timeout Tiempo máximo de espera
+     * @return true si la página quedó lista a tiempo
+     */
+    public static boolean waitUntilReady(WebDriver driver, Duration timeout) {
+        if (!(driver instanceof JavascriptExecutor)) {
+            return true;
+        }
+        JavascriptExecutor executor = (JavascriptExecutor) driver;
+        boolean acceptInteractive = isEagerLoading(driver);
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+
+        try {
+            while (true) {
+                long remaining = (deadline - System.nanoTime()) / 1_000_000;
+                long chunk = Math.max(0, Math.min(remaining, MAX_SCRIPT_WAIT_MILLIS));
+                try {
+                    Object ready = executor.executeAsyncScript(WAIT_SCRIPT, INSTRUMENTATION_SCRIPT,
+                            ConfigReader.getReadinessQuietMillis(), acceptInteractive, chunk,
+                            ConfigReader.getReadinessMaxRequestMillis());
+                    if (Boolean.TRUE.equals(ready)) {
+                        return true;
+                    }
+                } catch (WebDriverException e) {
+                    if (SessionSupervisor.isCrash(e)) {
+                        throw e;
+                    }
+                    // Una navegación o redirección descarga el documento: se vuelve a chequear el nuevo
+                    if (isInterrupted(e) && remaining > 0) {
+                        logger.debug("Readiness check interrupted, retrying: {}", firstLine(e));
+                        continue;
+                    }
+                    logger.warn("Readiness check failed, continuing without it: {}", firstLine(e));
+                    return false;
+                }
+                if (remaining <= chunk) {
+                    ExecutionMetrics.increment(METRIC_NOT_READY);
+                    logger.warn("Page not ready after {} ms, continuing", timeout.toMillis());
+                    return false;
+                }
+            }
+        } finally {
+            ExecutionMetrics.recordSince(METRIC_READY, start);
+        }
+    }
+
+    /**
+     * Con estrategia eager la sesión no espera a imágenes y hojas de estilo, así que "interactive" cuenta como listo
+     */
+    private static boolean isEagerLoading(WebDriver driver) {
+        if (!(driver instanceof HasCapabilities)) {
+            return false;
+        }
+        Capabilities capabilities = ((HasCapabilities) driver).getCapabilities();
+        Object strategy = capabilities.getCapability("pageLoadStrategy");
+        return strategy != null && !PageLoadStrategy.NORMAL.toString().equalsIgnoreCase(strategy.toString());
+    }
+
+    private static boolean isInterrupted(WebDriverException e) {
+        String message = e.getMessage() == null ? "" : e.getMessage().toLowerCase();
+        return message.contains("unload") || message.contains("navigat") || message.contains("context was discarded")
+                || message.contains("script timeout") || message.contains("timed out");
+    }
+
+    private static String firstLine(Throwable throwable) {
+        return throwable.getMessage() == null ? throwable.toString() : throwable.getMessage().split("\n", 2)[0];
+    }
+}
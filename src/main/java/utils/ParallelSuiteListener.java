@@ -0,0 +1,39 @@
+package utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+
+import java.util.List;
+
+/**
+ * Aplica el modo de ejecución paralela configurado (parallel.mode / parallel.threads)
+ * a las suites antes de ejecutarlas, sin necesidad de editar testng.xml.
+ * Debe registrarse en testng.xml: TestNG solo invoca IAlterSuiteListener declarados ahí.
+ */
+public class ParallelSuiteListener implements IAlterSuiteListener {
+    private static final Logger logger = LoggerFactory.getLogger(ParallelSuiteListener.class);
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        String mode = ConfigReader.getParallelMode();
+        XmlSuite.ParallelMode parallelMode = XmlSuite.ParallelMode.getValidParallel(mode);
+        if (parallelMode == XmlSuite.ParallelMode.NONE) {
+            return;
+        }
+
+        int threads = ConfigReader.getParallelThreads();
+        for (XmlSuite suite : suites) {
+            suite.setParallel(parallelMode);
+            suite.setThreadCount(threads);
+            suite.setDataProviderThreadCount(threads);
+        }
+        logger.info("Parallel execution enabled: mode={}, threads={}", parallelMode, threads);
+
+        if (ConfigReader.isDriverPoolEnabled() && ConfigReader.getDriverPoolSize() < threads) {
+            logger.warn("driver.pool.size ({}) is lower than parallel.threads ({}): tests will wait for sessions",
+                    ConfigReader.getDriverPoolSize(), threads);
+        }
+    }
+}
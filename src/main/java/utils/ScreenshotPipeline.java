@@ -0,0 +1,150 @@
+package utils;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Escritura asíncrona de los pasos del reporte.
+ * El hilo del test solo entrega los bytes PNG del screenshot y sigue; un pool acotado de hilos en segundo
+ * plano hace la codificación base64, genera el HTML y lo agrega al ExtentTest.
+ * Los pasos se renderizan en paralelo pero se agregan en el orden en que se enviaron, por test:
+ * los pasos sin imagen también pasan por aquí para no adelantarse a los que siguen en cola.
+ * Contrapresión: como máximo screenshot.pipeline.queue.size pasos en vuelo; si la cola está llena
+ * el hilo del test espera a que se libere un lugar.
+ * ExtentManager espera la cola del test antes de una escritura directa y la vacía completa antes de flushReport.
+ * Métricas: "screenshot.pipeline.submit" (costo en el hilo del test) y "screenshot.pipeline.backpressure".
+ */
+public class ScreenshotPipeline {
+    private static final Logger logger = LoggerFactory.getLogger(ScreenshotPipeline.class);
+
+    public static final String METRIC_SUBMIT = "screenshot.pipeline.submit";
+    public static final String METRIC_BACKPRESSURE = "screenshot.pipeline.backpressure";
+
+    private static final CompletableFuture<Void> DONE = CompletableFuture.completedFuture(null);
+
+    // Último paso encolado de cada test: el siguiente se agrega cuando este termina
+    private static final Map<ExtentTest, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+    private static volatile ExecutorService executor;
+    private static volatile Semaphore permits;
+
+    private ScreenshotPipeline() {
+    }
+
+    /**
+     * Encola un paso del test
+     * @param screenshotPng Bytes del screenshot, o null para un paso sin imagen
+     * @param styleName Estilo de screenshot-styles.xml
+     */
+    public static void submit(ExtentTest test, Status status, String description, byte[] screenshotPng, String styleName) {
+        if (test == null) {
+            return;
+        }
+        if (!ConfigReader.isScreenshotPipelineEnabled()) {
+            ExtentManager.append(test, status, render(description, screenshotPng, styleName));
+            return;
+        }
+
+        long start = System.nanoTime();
+        acquirePermit();
+        CompletableFuture<String> rendered = screenshotPng == null
+                ? CompletableFuture.completedFuture(description)
+                : CompletableFuture.supplyAsync(() -> render(description, screenshotPng, styleName), executor());
+        tails.compute(test, (key, previous) -> (previous == null ? DONE : previous)
+                .thenCombine(rendered, (ignored, html) -> html)
+                .thenAccept(html -> ExtentManager.append(test, status, html))
+                .whenComplete((ignored, error) -> {
+                    permits.release();
+                    if (error != null) {
+                        logger.error("Report step could not be written: {}", error.getMessage());
+                    }
+                })
+                .exceptionally(error -> null));
+        ExecutionMetrics.recordSince(METRIC_SUBMIT, start);
+    }
+
+    private static void acquirePermit() {
+        Semaphore semaphore = permits();
+        if (semaphore.tryAcquire()) {
+            return;
+        }
+        long start = System.nanoTime();
+        semaphore.acquireUninterruptibly();
+        ExecutionMetrics.recordSince(METRIC_BACKPRESSURE, start);
+    }
+
+    private static String render(String description, byte[] screenshotPng, String styleName) {
+        if (screenshotPng == null) {
+            return description;
+        }
+        try {
+            return description + "<br>" + ScreenshotUtils.generateScreenshotHtml(screenshotPng, styleName, description);
+        } catch (Exception e) {
+            logger.warn("Error displaying screenshot for '{}': {}", description, e.getMessage());
+            return description + "<br>Error displaying screenshot: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Espera a que se escriban los pasos ya encolados del test (antes de escribirle directamente)
+     */
+    public static void awaitTest(ExtentTest test) {
+        if (test == null) {
+            return;
+        }
+        CompletableFuture<Void> tail = tails.get(test);
+        if (tail != null) {
+            tail.join();
+            tails.remove(test, tail);
+        }
+    }
+
+    /**
+     * Espera a que se escriban todos los pasos encolados, respetando el orden de cada test
+     */
+    public static void drain() {
+        long pending = tails.values().stream().filter(tail -> !tail.isDone()).count();
+        if (pending > 0) {
+            logger.debug("Waiting for {} tests with report steps in flight", pending);
+        }
+        for (ExtentTest test : tails.keySet()) {
+            awaitTest(test);
+        }
+    }
+
+    private static Semaphore permits() {
+        if (permits == null) {
+            synchronized (ScreenshotPipeline.class) {
+                if (permits == null) {
+                    permits = new Semaphore(Math.max(1, ConfigReader.getScreenshotPipelineQueueSize()));
+                }
+            }
+        }
+        return permits;
+    }
+
+    private static ExecutorService executor() {
+        if (executor == null) {
+            synchronized (ScreenshotPipeline.class) {
+                if (executor == null) {
+                    AtomicInteger count = new AtomicInteger();
+                    executor = Executors.newFixedThreadPool(Math.max(1, ConfigReader.getScreenshotPipelineThreads()), runnable -> {
+                        Thread thread = new Thread(runnable, "screenshot-pipeline-" + count.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+            }
+        }
+        return executor;
+    }
+}
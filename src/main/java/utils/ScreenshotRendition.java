@@ -0,0 +1,141 @@
+package utils;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Versiones de un screenshot para el reporte: una miniatura JPEG para la vista del paso y la imagen completa
+ * para el modal de showScreenshot, sin pérdida (PNG del navegador) o JPEG con la calidad indicada.
+ * Se configura por estilo en screenshot-styles.xml:
+ * &lt;rendition thumbnail-width="500" thumbnail-quality="0.7" full-format="jpeg" full-quality="0.85"/&gt;
+ * Sin el elemento la imagen va tal cual. El JDK no trae escritor WebP en ImageIO, por eso las versiones son JPEG.
+ */
+public class ScreenshotRendition {
+
+    public static final String METRIC_BYTES_SAVED = "screenshot.rendition.bytes.saved";
+
+    /**
+     * El PNG original, sin miniatura
+     */
+    public static final ScreenshotRendition ORIGINAL = new ScreenshotRendition(0, 0.7f, "png", 1f);
+
+    private final int thumbnailWidth;
+    private final float thumbnailQuality;
+    private final boolean lossyFull;
+    private final float fullQuality;
+
+    /**
+     * @param thumbnailWidth Ancho de la miniatura en píxeles (0 = sin miniatura)
+     * @param thumbnailQuality Calidad JPEG de la miniatura (0 a 1)
+     * @param fullFormat png (sin pérdida) | jpeg
+     * @param fullQuality Calidad JPEG de la imagen completa (0 a 1)
+     */
+    public ScreenshotRendition(int thumbnailWidth, float thumbnailQuality, String fullFormat, float fullQuality) {
+        String format = fullFormat.trim().toLowerCase(Locale.ROOT);
+        if (!format.equals("png") && !format.equals("jpeg") && !format.equals("jpg")) {
+            throw new IllegalArgumentException("Formato de screenshot no soportado: " + fullFormat + " (png | jpeg)");
+        }
+        this.thumbnailWidth = Math.max(0, thumbnailWidth);
+        this.thumbnailQuality = clamp(thumbnailQuality);
+        this.lossyFull = !format.equals("png");
+        this.fullQuality = clamp(fullQuality);
+    }
+
+    private static float clamp(float quality) {
+        return Math.max(0.05f, Math.min(1f, quality));
+    }
+
+    public boolean isOriginal() {
+        return thumbnailWidth == 0 && !lossyFull;
+    }
+
+    /**
+     * Sufijo que distingue las versiones de una misma imagen con distintos ajustes (vacío para el original)
+     */
+    String key() {
+        if (isOriginal()) {
+            return "";
+        }
+        return (thumbnailWidth > 0 ? String.format("-t%dq%d", thumbnailWidth, Math.round(thumbnailQuality * 100)) : "")
+                + (lossyFull ? String.format("-q%d", Math.round(fullQuality * 100)) : "");
+    }
+
+    /**
+     * Miniatura JPEG, o null si no hay miniatura configurada o la imagen ya es más angosta
+     */
+    byte[] thumbnail(BufferedImage image) throws IOException {
+        if (thumbnailWidth == 0 || image.getWidth() <= thumbnailWidth) {
+            return null;
+        }
+        return jpeg(scaleToWidth(image, thumbnailWidth), thumbnailQuality);
+    }
+
+    /**
+     * Imagen completa: el PNG original, o su versión JPEG si es lossy y resulta más chica
+     */
+    byte[] full(byte[] png, BufferedImage image) throws IOException {
+        if (!lossyFull) {
+            return png;
+        }
+        byte[] lossy = jpeg(image, fullQuality);
+        if (lossy.length >= png.length) {
+            return png;
+        }
+        ExecutionMetrics.add(METRIC_BYTES_SAVED, png.length - lossy.length);
+        return lossy;
+    }
+
+    /**
+     * Reduce en pasos de a la mitad (bilineal) hasta el ancho pedido: más nítido que un solo salto grande
+     */
+    private static BufferedImage scaleToWidth(BufferedImage image, int width) {
+        BufferedImage current = image;
+        int currentWidth = image.getWidth();
+        int currentHeight = image.getHeight();
+        do {
+            currentWidth = Math.max(width, currentWidth / 2);
+            currentHeight = Math.max(1, (int) Math.round((double) image.getHeight() * currentWidth / image.getWidth()));
+            BufferedImage scaled = new BufferedImage(currentWidth, currentHeight, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = scaled.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            graphics.dispose();
+            current = scaled;
+        } while (currentWidth > width);
+        return current;
+    }
+
+    private static byte[] jpeg(BufferedImage image, float quality) throws IOException {
+        // JPEG no admite transparencia: se aplana sobre fondo blanco
+        BufferedImage rgb = image;
+        if (image.getType() != BufferedImage.TYPE_INT_RGB) {
+            rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = rgb.createGraphics();
+            graphics.drawImage(image, 0, 0, Color.WHITE, null);
+            graphics.dispose();
+        }
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.write(null, new IIOImage(rgb, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+}
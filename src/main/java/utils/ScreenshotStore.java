@@ -0,0 +1,297 @@
+package utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Almacén de screenshots del reporte direccionado por contenido (SHA-256).
+ * Un screenshot idéntico a uno ya guardado no se vuelve a incrustar: el paso referencia al original.
+ * Opcionalmente (screenshot.dedup.perceptual) también se reutilizan los casi idénticos según un hash
+ * perceptual (dHash de 64 bits) a distancia de Hamming de screenshot.dedup.perceptual.distance o menos;
+ * nunca para screenshots de fallo, que se guardan siempre exactos.
+ * Cada imagen nueva pasa por la ScreenshotRendition de su estilo (miniatura y versión completa).
+ * Con screenshot.storage=files se escriben una vez en reports/&lt;run&gt;/assets/ y el reporte las referencia
+ * por ruta relativa; con inline van en base64 dentro del HTML (un solo archivo portable).
+ * Métricas: "screenshot.dedup.exact", "screenshot.dedup.near" y "screenshot.dedup.bytes.saved".
+ */
+public class ScreenshotStore {
+    private static final Logger logger = LoggerFactory.getLogger(ScreenshotStore.class);
+
+    public static final String METRIC_STORED = "screenshot.stored";
+    public static final String METRIC_EXACT = "screenshot.dedup.exact";
+    public static final String METRIC_NEAR = "screenshot.dedup.near";
+    public static final String METRIC_BYTES_SAVED = "screenshot.dedup.bytes.saved";
+
+    public static final String STORAGE_INLINE = "inline";
+    public static final String STORAGE_FILES = "files";
+
+    // Cada imagen se registra antes de generar sus versiones: los duplicados esperan a la primera, no la repiten
+    private static final Map<String, CompletableFuture<StoredScreenshot>> byContent = new HashMap<>();
+    private static final List<StoredScreenshot> perceptualCandidates = new ArrayList<>();
+
+    /**
+     * Screenshot guardado: su id de contenido, sus fuentes para el HTML y si el paso referencia a uno ya incrustado
+     */
+    public static class StoredScreenshot {
+        private final String id;
+        private final boolean reference;
+        private final long perceptualHash;
+        private final String source;
+        private final String fullSource;
+        // Bytes de las versiones guardadas (completa más miniatura): lo que ahorra cada paso que la reutiliza
+        private final long size;
+
+        private StoredScreenshot(String id, boolean reference, long perceptualHash, String source, String fullSource,
+                                 long size) {
+            this.id = id;
+            this.reference = reference;
+            this.perceptualHash = perceptualHash;
+            this.source = source;
+            this.fullSource = fullSource;
+            this.size = size;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        /**
+         * src de la imagen del paso (ruta relativa al reporte o data URI); null en una referencia inline,
+         * que toma el src del original en la página
+         */
+        public String getSource() {
+            return source;
+        }
+
+        /**
+         * Imagen completa para el modal cuando el paso muestra una miniatura, o null si es la misma
+         */
+        public String getFullSource() {
+            return fullSource;
+        }
+
+        /**
+         * true si la imagen ya está en el reporte y este paso solo la referencia
+         */
+        public boolean isReference() {
+            return reference;
+        }
+
+        private StoredScreenshot asReference() {
+            return new StoredScreenshot(id, true, perceptualHash, source, fullSource, size);
+        }
+
+        // En modo inline el registro no retiene los data URI: las referencias los resuelven en la página
+        private StoredScreenshot withoutInlineSources() {
+            return source != null && !source.startsWith("data:")
+                    ? this : new StoredScreenshot(id, false, perceptualHash, null, null, size);
+        }
+    }
+
+    private ScreenshotStore() {
+    }
+
+    /**
+     * Registra un screenshot
+     * @param png Bytes del screenshot
+     * @param allowNearDuplicate Si puede reutilizar una imagen casi idéntica (no usar para fallos)
+     * @param rendition Versiones a generar para el estilo del paso
+     */
+    public static StoredScreenshot store(byte[] png, boolean allowNearDuplicate, ScreenshotRendition rendition) {
+        String id = sha256(png) + rendition.key();
+        if (!ConfigReader.isScreenshotDedupEnabled()) {
+            StoredScreenshot stored = save(id, png, null, -1, rendition);
+            ExecutionMetrics.increment(METRIC_STORED);
+            return stored;
+        }
+        BufferedImage image = null;
+        long perceptualHash = -1;
+        if (allowNearDuplicate && ConfigReader.isScreenshotPerceptualDedupEnabled()) {
+            image = decode(png);
+            perceptualHash = image == null ? -1 : differenceHash(image);
+        }
+
+        CompletableFuture<StoredScreenshot> existing;
+        String metric = METRIC_EXACT;
+        CompletableFuture<StoredScreenshot> claimed = new CompletableFuture<>();
+        synchronized (ScreenshotStore.class) {
+            existing = byContent.get(id);
+            if (existing == null && perceptualHash != -1) {
+                existing = findSimilar(perceptualHash, rendition.key());
+                metric = METRIC_NEAR;
+            }
+            if (existing == null) {
+                byContent.put(id, claimed);
+            }
+        }
+        if (existing != null) {
+            StoredScreenshot original = existing.join();
+            recordSaved(metric, original.size);
+            return original.asReference();
+        }
+
+        StoredScreenshot stored;
+        try {
+            stored = save(id, png, image, perceptualHash, rendition);
+        } catch (RuntimeException e) {
+            // Sin la entrada, el próximo screenshot igual lo vuelve a intentar en vez de heredar el error
+            synchronized (ScreenshotStore.class) {
+                byContent.remove(id, claimed);
+            }
+            claimed.completeExceptionally(e);
+            throw e;
+        }
+        ExecutionMetrics.increment(METRIC_STORED);
+        claimed.complete(stored.withoutInlineSources());
+        if (perceptualHash != -1) {
+            synchronized (ScreenshotStore.class) {
+                perceptualCandidates.add(stored.withoutInlineSources());
+            }
+        }
+        return stored;
+    }
+
+    private static CompletableFuture<StoredScreenshot> findSimilar(long perceptualHash, String renditionKey) {
+        int maxDistance = ConfigReader.getScreenshotPerceptualDistance();
+        // Del más reciente al más antiguo: los pasos consecutivos son los que suelen repetirse
+        for (int i = perceptualCandidates.size() - 1; i >= 0; i--) {
+            StoredScreenshot candidate = perceptualCandidates.get(i);
+            // El id es el SHA-256 (64 hex) seguido de la clave de la versión
+            if (candidate.id.substring(64).equals(renditionKey)
+                    && Long.bitCount(candidate.perceptualHash ^ perceptualHash) <= maxDistance) {
+                return CompletableFuture.completedFuture(candidate);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Genera las versiones de la imagen y las escribe como archivos (modo files) o como data URI (modo inline).
+     * Si la versión no se puede generar se usa el PNG original tal cual.
+     */
+    private static StoredScreenshot save(String id, byte[] png, BufferedImage image, long perceptualHash,
+                                         ScreenshotRendition rendition) {
+        byte[] full = png;
+        byte[] thumbnail = null;
+        if (!rendition.isOriginal()) {
+            try {
+                BufferedImage decoded = image != null ? image : decode(png);
+                if (decoded != null) {
+                    full = rendition.full(png, decoded);
+                    thumbnail = rendition.thumbnail(decoded);
+                }
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Screenshot rendition failed, keeping the original PNG: {}", e.getMessage());
+            }
+        }
+
+        String fullSource = source(id + (full == png ? ".png" : ".jpg"), full);
+        if (thumbnail == null) {
+            return new StoredScreenshot(id, false, perceptualHash, fullSource, null, full.length);
+        }
+        return new StoredScreenshot(id, false, perceptualHash, source(id + "-thumb.jpg", thumbnail), fullSource,
+                full.length + thumbnail.length);
+    }
+
+    /**
+     * Ruta relativa al reporte del archivo escrito (modo files), o data URI en modo inline
+     * o si el archivo no se pudo escribir
+     */
+    private static String source(String fileName, byte[] content) {
+        if (STORAGE_FILES.equalsIgnoreCase(ConfigReader.getScreenshotStorage())) {
+            String relativePath = ExtentManager.getRunName() + "/assets/" + fileName;
+            Path file = Paths.get(System.getProperty("user.dir"), "reports", relativePath);
+            try {
+                if (!Files.exists(file)) {
+                    Files.createDirectories(file.getParent());
+                    Files.write(file, content);
+                }
+                return relativePath;
+            } catch (IOException e) {
+                logger.warn("Screenshot {} could not be written, embedding it inline: {}", file, e.getMessage());
+            }
+        }
+        String mimeType = fileName.endsWith(".png") ? "image/png" : "image/jpeg";
+        return "data:" + mimeType + ";base64," + Base64.getEncoder().encodeToString(content);
+    }
+
+    private static void recordSaved(String metric, long bytes) {
+        ExecutionMetrics.increment(metric);
+        ExecutionMetrics.add(METRIC_BYTES_SAVED, bytes);
+    }
+
+    /**
+     * Resumen para el reporte: screenshots guardados, referencias y bytes ahorrados
+     */
+    public static String summary() {
+        long exact = ExecutionMetrics.getCount(METRIC_EXACT);
+        long near = ExecutionMetrics.getCount(METRIC_NEAR);
+        long saved = ExecutionMetrics.getCount(METRIC_BYTES_SAVED);
+        long renditionSaved = ExecutionMetrics.getCount(ScreenshotRendition.METRIC_BYTES_SAVED);
+        return String.format("%d stored, %d identical + %d near-identical reused, %.1f KB saved (%.1f KB as base64), "
+                        + "%.1f KB saved by lossy renditions",
+                ExecutionMetrics.getCount(METRIC_STORED), exact, near, saved / 1024.0, saved * 4 / 3 / 1024.0,
+                renditionSaved / 1024.0);
+    }
+
+    static String sha256(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    private static BufferedImage decode(byte[] png) {
+        try {
+            return ImageIO.read(new ByteArrayInputStream(png));
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Screenshot could not be decoded: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * dHash: la imagen reducida a 9x8 en grises; cada bit indica si un píxel es más claro que su vecino derecho
+     * @return el hash (nunca -1, reservado para "sin hash")
+     */
+    static long differenceHash(BufferedImage image) {
+        BufferedImage small = new BufferedImage(9, 8, BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D graphics = small.createGraphics();
+        graphics.drawImage(image.getScaledInstance(9, 8, Image.SCALE_AREA_AVERAGING), 0, 0, null);
+        graphics.dispose();
+
+        long hash = 0;
+        for (int y = 0; y < 8; y++) {
+            for (int x = 0; x < 8; x++) {
+                int left = small.getRaster().getSample(x, y, 0);
+                int right = small.getRaster().getSample(x + 1, y, 0);
+                hash = (hash << 1) | (left > right ? 1 : 0);
+            }
+        }
+        return hash == -1 ? hash - 1 : hash;
+    }
+}
@@ -7,20 +7,24 @@ import org.w3c.dom.NodeList;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import java.io.InputStream;
-import java.util.HashMap;
+import java.util.Base64;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Utilidad para generar HTML de screenshots con modal integrado
+ * Es segura para ejecución en paralelo: la configuración se carga una sola vez
+ * y el script del modal se inyecta una única vez por reporte
  */
 public class ScreenshotUtils {
 
-    private static Map<String, ScreenshotStyle> styles = new HashMap<>();
-    private static ModalConfig modalConfig;
-    private static String tooltipMessage;
-    private static String errorMessage;
-    private static boolean configLoaded = false;
-    private static boolean modalStylesInjected = false;
+    private static final Map<String, ScreenshotStyle> styles = new ConcurrentHashMap<>();
+    private static volatile ModalConfig modalConfig;
+    private static volatile String tooltipMessage;
+    private static volatile String errorMessage;
+    private static volatile boolean configLoaded = false;
+    private static final AtomicBoolean modalStylesInjected = new AtomicBoolean(false);
 
     // Clases internas simplificadas
     public static class ScreenshotStyle {
@@ -28,12 +32,19 @@ public class ScreenshotUtils {
         public String imageStyle;
         public String hoverIn;
         public String hoverOut;
+        public ScreenshotRendition rendition;
 
         public ScreenshotStyle(String container, String image, String hoverIn, String hoverOut) {
+            this(container, image, hoverIn, hoverOut, ScreenshotRendition.ORIGINAL);
+        }
+
+        public ScreenshotStyle(String container, String image, String hoverIn, String hoverOut,
+                               ScreenshotRendition rendition) {
             this.containerStyle = container;
             this.imageStyle = image;
             this.hoverIn = hoverIn;
             this.hoverOut = hoverOut;
+            this.rendition = rendition;
         }
     }
 
@@ -57,6 +68,15 @@ public class ScreenshotUtils {
     private static void loadConfig() {
         if (configLoaded) return;
 
+        synchronized (ScreenshotUtils.class) {
+            if (!configLoaded) {
+                loadConfigOnce();
+            }
+        }
+    }
+
+    private static void loadConfigOnce() {
+
         try {
             InputStream xmlFile = ScreenshotUtils.class.getClassLoader()
                     .getResourceAsStream("screenshot-styles.xml");
@@ -93,11 +113,35 @@ public class ScreenshotUtils {
                     getTextContent(styleElement, "container"),
                     getTextContent(styleElement, "image"),
                     getTextContent(styleElement, "hover-in"),
-                    getTextContent(styleElement, "hover-out")
+                    getTextContent(styleElement, "hover-out"),
+                    loadRendition(styleElement)
             ));
         }
     }
 
+    /**
+     * &lt;rendition thumbnail-width="500" thumbnail-quality="0.7" full-format="jpeg" full-quality="0.85"/&gt;
+     * Sin el elemento el estilo muestra el PNG original
+     */
+    private static ScreenshotRendition loadRendition(Element styleElement) {
+        NodeList renditionNodes = styleElement.getElementsByTagName("rendition");
+        if (renditionNodes.getLength() == 0) {
+            return ScreenshotRendition.ORIGINAL;
+        }
+        Element rendition = (Element) renditionNodes.item(0);
+        return new ScreenshotRendition(
+                Integer.parseInt(attributeOrDefault(rendition, "thumbnail-width", "0")),
+                Float.parseFloat(attributeOrDefault(rendition, "thumbnail-quality", "0.7")),
+                attributeOrDefault(rendition, "full-format", "png"),
+                Float.parseFloat(attributeOrDefault(rendition, "full-quality", "0.85"))
+        );
+    }
+
+    private static String attributeOrDefault(Element element, String name, String defaultValue) {
+        String value = element.getAttribute(name).trim();
+        return value.isEmpty() ? defaultValue : value;
+    }
+
     private static void loadModalConfig(Document doc) {
         Element modalElement = (Element) doc.getElementsByTagName("modal").item(0);
         modalConfig = new ModalConfig(
@@ -153,9 +197,7 @@ public class ScreenshotUtils {
      * Genera los estilos CSS y JavaScript para el modal (solo una vez)
      */
     private static String getModalScript() {
-        if (modalStylesInjected) return "";
-
-        modalStylesInjected = true;
+        if (!modalStylesInjected.compareAndSet(false, true)) return "";
 
         return "<script>" +
                 "if (!window.screenshotModalCreated) {" +
@@ -185,6 +227,17 @@ public class ScreenshotUtils {
                 "    document.getElementById('modalImage').src = src;" +
                 "    document.getElementById('screenshotModal').style.display = 'flex';" +
                 "  }" +
+                "  function resolveScreenshotRefs() {" +
+                "    var refs = document.querySelectorAll('img[data-shot-ref]:not([src])');" +
+                "    for (var i = 0; i < refs.length; i++) {" +
+                "      var original = document.querySelector('img[data-shot=\"' + refs[i].getAttribute('data-shot-ref') + '\"]');" +
+                "      if (!original) continue;" +
+                "      if (original.dataset.full) refs[i].dataset.full = original.dataset.full;" +
+                "      refs[i].src = original.src;" +
+                "    }" +
+                "  }" +
+                "  document.addEventListener('DOMContentLoaded', resolveScreenshotRefs);" +
+                "  document.addEventListener('click', resolveScreenshotRefs, true);" +
                 "  document.addEventListener('keydown', function(e) {" +
                 "    if (e.key === 'Escape') {" +
                 "      var modal = document.getElementById('screenshotModal');" +
@@ -199,6 +252,35 @@ public class ScreenshotUtils {
      * Genera el HTML para un screenshot con modal integrado
      */
     public static String generateScreenshotHtml(String base64Image, String styleName, String context) {
+        String dataUri = "data:image/png;base64," + base64Image;
+        return imageHtml(styleName, "src='" + dataUri + "'", "'" + dataUri + "'");
+    }
+
+    /**
+     * Genera el HTML para un screenshot a partir de los bytes PNG del navegador.
+     * La imagen pasa por ScreenshotStore con la rendition del estilo: el paso muestra la miniatura y
+     * data-full guarda la imagen completa que abre el modal. En modo files son rutas a los archivos;
+     * en modo inline, si la imagen ya está en el reporte, el paso solo la referencia (data-shot-ref)
+     * y el script del modal le copia las fuentes del original al cargar la página.
+     */
+    public static String generateScreenshotHtml(byte[] png, String styleName, String context) {
+        loadConfig();
+        ScreenshotStyle style = styles.getOrDefault(styleName, styles.get("standard"));
+        ScreenshotStore.StoredScreenshot stored = ScreenshotStore.store(png, !"error".equals(styleName), style.rendition);
+
+        String sourceAttributes;
+        if (stored.getSource() == null) {
+            sourceAttributes = "data-shot-ref='" + stored.getId() + "'";
+        } else {
+            sourceAttributes = "data-shot='" + stored.getId() + "' src='" + stored.getSource() + "'";
+            if (stored.getFullSource() != null) {
+                sourceAttributes += " data-full='" + stored.getFullSource() + "'";
+            }
+        }
+        return imageHtml(styleName, sourceAttributes, "this.dataset.full || this.src");
+    }
+
+    private static String imageHtml(String styleName, String sourceAttributes, String modalSource) {
         loadConfig();
 
         ScreenshotStyle style = styles.getOrDefault(styleName, styles.get("standard"));
@@ -206,7 +288,7 @@ public class ScreenshotUtils {
         StringBuilder html = new StringBuilder();
         html.append(getModalScript());
         html.append("<div style='").append(style.containerStyle).append("'>");
-        html.append("<img src='data:image/png;base64,").append(base64Image).append("' ");
+        html.append("<img ").append(sourceAttributes).append(" ");
         html.append("style='").append(style.imageStyle).append("' ");
 
         if (!style.hoverIn.isEmpty()) {
@@ -216,7 +298,7 @@ public class ScreenshotUtils {
             html.append("onmouseout=\"").append(style.hoverOut).append("\" ");
         }
 
-        html.append("onclick=\"showScreenshot('data:image/png;base64,").append(base64Image).append("')\" ");
+        html.append("onclick=\"showScreenshot(").append(modalSource).append(")\" ");
         html.append("title='").append(tooltipMessage).append("'/>");
         html.append("</div>");
 
@@ -0,0 +1,270 @@
+package utils;
+
+import data.UserCredentials;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caché de estado de sesión autenticada (cookies + localStorage + sessionStorage)
+ * Permite que un test empiece ya logueado sin recorrer el flujo de login por UI.
+ * Las sesiones se guardan en memoria y en disco, con expiración (TTL).
+ */
+public class SessionStateCache {
+    private static final Logger logger = LoggerFactory.getLogger(SessionStateCache.class);
+
+    public static final String METRIC_HIT = "session.cache.hit";
+    public static final String METRIC_MISS = "session.cache.miss";
+    public static final String METRIC_REJECTED = "session.cache.rejected";
+
+    private static final Json JSON = new Json();
+    private static final Map<String, SessionSnapshot> memory = new ConcurrentHashMap<>();
+
+    private static final String CAPTURE_STORAGE_SCRIPT =
+            "function dump(storage) {" +
+            "  var result = {};" +
+            "  for (var i = 0; i < storage.length; i++) { var key = storage.key(i); result[key] = storage.getItem(key); }" +
+            "  return result;" +
+            "}" +
+            "return {local: dump(window.localStorage), session: dump(window.sessionStorage)};";
+
+    private static final String RESTORE_STORAGE_SCRIPT =
+            "var local = arguments[0], session = arguments[1];" +
+            "window.localStorage.clear(); window.sessionStorage.clear();" +
+            "Object.keys(local).forEach(function(k) { window.localStorage.setItem(k, local[k]); });" +
+            "Object.keys(session).forEach(function(k) { window.sessionStorage.setItem(k, session[k]); });";
+
+    /**
+     * Estado capturado de una sesión autenticada
+     */
+    public static class SessionSnapshot {
+        private final String origin;
+        private final long capturedAt;
+        private final List<Map<String, Object>> cookies;
+        private final Map<String, Object> localStorage;
+        private final Map<String, Object> sessionStorage;
+
+        public SessionSnapshot(String origin, long capturedAt, List<Map<String, Object>> cookies,
+                               Map<String, Object> localStorage, Map<String, Object> sessionStorage) {
+            this.origin = origin;
+            this.capturedAt = capturedAt;
+            this.cookies = cookies;
+            this.localStorage = localStorage;
+            this.sessionStorage = sessionStorage;
+        }
+
+        public String getOrigin() {
+            return origin;
+        }
+
+        public boolean isExpired() {
+            long ttlMillis = ConfigReader.getSessionCacheTtlMinutes() * 60_000L;
+            return System.currentTimeMillis() - capturedAt > ttlMillis;
+        }
+
+        private Map<String, Object> toJson() {
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("origin", origin);
+            json.put("capturedAt", capturedAt);
+            json.put("cookies", cookies);
+            json.put("localStorage", localStorage);
+            json.put("sessionStorage", sessionStorage);
+            return json;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static SessionSnapshot fromJson(Map<String, Object> json) {
+            return new SessionSnapshot(
+                    (String) json.get("origin"),
+                    ((Number) json.get("capturedAt")).longValue(),
+                    (List<Map<String, Object>>) json.get("cookies"),
+                    (Map<String, Object>) json.get("localStorage"),
+                    (Map<String, Object>) json.get("sessionStorage"));
+        }
+    }
+
+    /**
+     * Obtiene la sesión cacheada de un usuario (memoria y luego disco), o null si no existe o expiró
+     */
+    public static SessionSnapshot get(UserCredentials user) {
+        String key = cacheKey(user);
+        SessionSnapshot snapshot = memory.get(key);
+        if (snapshot == null) {
+            snapshot = readFromDisk(key);
+            if (snapshot != null) {
+                memory.put(key, snapshot);
+            }
+        }
+
+        if (snapshot == null || snapshot.isExpired()) {
+            if (snapshot != null) {
+                invalidate(user);
+            }
+            ExecutionMetrics.increment(METRIC_MISS);
+            return null;
+        }
+        ExecutionMetrics.increment(METRIC_HIT);
+        return snapshot;
+    }
+
+    public static void store(UserCredentials user, SessionSnapshot snapshot) {
+        String key = cacheKey(user);
+        memory.put(key, snapshot);
+        if (ConfigReader.isSessionCachePersisted()) {
+            writeToDisk(key, snapshot);
+        }
+    }
+
+    /**
+     * Elimina la sesión cacheada (por ejemplo cuando el servidor la rechaza)
+     */
+    public static void invalidate(UserCredentials user) {
+        String key = cacheKey(user);
+        memory.remove(key);
+        try {
+            Files.deleteIfExists(cacheFile(key));
+        } catch (IOException e) {
+            logger.debug("Could not delete cached session {}: {}", key, e.getMessage());
+        }
+    }
+
+    public static void markRejected(UserCredentials user) {
+        ExecutionMetrics.increment(METRIC_REJECTED);
+        invalidate(user);
+    }
+
+    /**
+     * Captura cookies y web storage de la sesión actual del navegador
+     */
+    @SuppressWarnings("unchecked")
+    public static SessionSnapshot capture(WebDriver driver, String origin) {
+        List<Map<String, Object>> cookies = new ArrayList<>();
+        for (Cookie cookie : driver.manage().getCookies()) {
+            cookies.add(cookieToMap(cookie));
+        }
+
+        Map<String, Object> storage = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(CAPTURE_STORAGE_SCRIPT);
+        return new SessionSnapshot(origin, System.currentTimeMillis(), cookies,
+                (Map<String, Object>) storage.get("local"), (Map<String, Object>) storage.get("session"));
+    }
+
+    /**
+     * Inyecta el estado en el navegador. El navegador debe estar en el origen de la sesión;
+     * el llamador debe recargar la página después para que el servidor vea las cookies.
+     */
+    public static void restore(WebDriver driver, SessionSnapshot snapshot) {
+        driver.manage().deleteAllCookies();
+        for (Map<String, Object> cookie : snapshot.cookies) {
+            try {
+                driver.manage().addCookie(mapToCookie(cookie));
+            } catch (Exception e) {
+                logger.debug("Skipping cookie {}: {}", cookie.get("name"), e.getMessage());
+            }
+        }
+        ((JavascriptExecutor) driver).executeScript(RESTORE_STORAGE_SCRIPT,
+                snapshot.localStorage, snapshot.sessionStorage);
+    }
+
+    // ==================== Serialización ====================
+
+    private static Map<String, Object> cookieToMap(Cookie cookie) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("name", cookie.getName());
+        map.put("value", cookie.getValue());
+        map.put("domain", cookie.getDomain());
+        map.put("path", cookie.getPath());
+        map.put("secure", cookie.isSecure());
+        map.put("httpOnly", cookie.isHttpOnly());
+        if (cookie.getExpiry() != null) {
+            map.put("expiry", cookie.getExpiry().getTime());
+        }
+        if (cookie.getSameSite() != null) {
+            map.put("sameSite", cookie.getSameSite());
+        }
+        return map;
+    }
+
+    private static Cookie mapToCookie(Map<String, Object> map) {
+        Cookie.Builder builder = new Cookie.Builder((String) map.get("name"), (String) map.get("value"))
+                .path((String) map.get("path"))
+                .isSecure(Boolean.TRUE.equals(map.get("secure")))
+                .isHttpOnly(Boolean.TRUE.equals(map.get("httpOnly")));
+        if (map.get("domain") != null) {
+            builder.domain((String) map.get("domain"));
+        }
+        if (map.get("expiry") != null) {
+            builder.expiresOn(new Date(((Number) map.get("expiry")).longValue()));
+        }
+        if (map.get("sameSite") != null) {
+            builder.sameSite((String) map.get("sameSite"));
+        }
+        return builder.build();
+    }
+
+    private static SessionSnapshot readFromDisk(String key) {
+        Path file = cacheFile(key);
+        if (!ConfigReader.isSessionCachePersisted() || !Files.exists(file)) {
+            return null;
+        }
+        try {
+            String content = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            return SessionSnapshot.fromJson(JSON.toType(content, Json.MAP_TYPE));
+        } catch (Exception e) {
+            logger.warn("Ignoring unreadable cached session {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private static void writeToDisk(String key, SessionSnapshot snapshot) {
+        Path file = cacheFile(key);
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = Files.createTempFile(file.getParent(), key, ".tmp");
+            Files.write(temp, JSON.toJson(snapshot.toJson()).getBytes(StandardCharsets.UTF_8));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Could not persist session for {}: {}", key, e.getMessage());
+        }
+    }
+
+    private static Path cacheFile(String key) {
+        return Paths.get(ConfigReader.getSessionCacheDir(), key + ".json");
+    }
+
+    /**
+     * Clave estable por URL base y credenciales, sin exponer el email ni la contraseña en el nombre del archivo
+     */
+    private static String cacheKey(UserCredentials user) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest((ConfigReader.getBaseUrl() + "|" + user.getEmail() + "|" + user.getPassword())
+                    .getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (int i = 0; i < 16; i++) {
+                hex.append(String.format("%02x", hash[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
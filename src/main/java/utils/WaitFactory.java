@@ -0,0 +1,161 @@
+package utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.Sleeper;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+
+/**
+ * Fábrica de esperas explícitas compartida por sesión.
+ * Todas las esperas usan la estrategia de sondeo configurada (fija, backoff exponencial con tope
+ * o rápida-luego-lenta), respetan el timeout del llamador, se ejecutan bajo la política de WaitPolicy
+ * y registran su duración por localizador ("wait.locator.&lt;locator&gt;") y los timeouts ("wait.timeout.&lt;locator&gt;").
+ */
+public class WaitFactory {
+
+    public static final String METRIC_LOCATOR_PREFIX = "wait.locator.";
+    public static final String METRIC_TIMEOUT_PREFIX = "wait.timeout.";
+    public static final String METRIC_UNTIL = "wait.until";
+
+    private static final long DEADLINE_MARGIN_MILLIS = 10;
+
+    public enum PollingStrategy {
+        FIXED,           // Siempre el intervalo inicial (comportamiento clásico de WebDriverWait)
+        EXPONENTIAL,     // Intervalo inicial duplicado en cada intento, hasta el máximo
+        FAST_THEN_SLOW;  // Intervalo inicial durante los primeros intentos, luego el máximo
+
+        public static PollingStrategy fromConfig() {
+            try {
+                return valueOf(ConfigReader.getWaitPollingStrategy().toUpperCase().replace('-', '_'));
+            } catch (IllegalArgumentException e) {
+                return EXPONENTIAL;
+            }
+        }
+    }
+
+    private static final Map<WebDriver, WaitFactory> factories = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final WebDriver driver;
+    private final PollingStrategy strategy;
+    private final Duration initialInterval;
+    private final Duration maxInterval;
+    private final int fastAttempts;
+
+    private WaitFactory(WebDriver driver) {
+        this.driver = driver;
+        this.strategy = PollingStrategy.fromConfig();
+        this.initialInterval = Duration.ofMillis(Math.max(1, ConfigReader.getWaitPollingInterval()));
+        this.maxInterval = Duration.ofMillis(Math.max(initialInterval.toMillis(), ConfigReader.getWaitPollingMaxInterval()));
+        this.fastAttempts = ConfigReader.getWaitPollingFastAttempts();
+    }
+
+    public static WaitFactory forDriver(WebDriver driver) {
+        return factories.computeIfAbsent(driver, WaitFactory::new);
+    }
+
+    public PollingStrategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Espera explícita sin localizador asociado (política EXPLICIT)
+     */
+    public WebDriverWait wait(Duration timeout) {
+        return wait(null, timeout, WaitPolicy.Policy.EXPLICIT);
+    }
+
+    public WebDriverWait wait(Duration timeout, WaitPolicy.Policy policy) {
+        return wait(null, timeout, policy);
+    }
+
+    /**
+     * Espera explícita cuyas métricas se agrupan por el localizador indicado (política EXPLICIT)
+     */
+    public WebDriverWait wait(By locator, Duration timeout) {
+        return wait(locator, timeout, WaitPolicy.Policy.EXPLICIT);
+    }
+
+    public WebDriverWait wait(By locator, Duration timeout, WaitPolicy.Policy policy) {
+        return wait(null, locator, timeout, policy);
+    }
+
+    /**
+     * @param page    Página que espera, para los timeouts adaptativos (puede ser null)
+     * @param locator Localizador para las métricas (puede ser null)
+     * @param timeout Timeout del llamador
+     * @param policy  Política de implicit wait durante until()
+     */
+    public WebDriverWait wait(String page, By locator, Duration timeout, WaitPolicy.Policy policy) {
+        BackoffSleeper sleeper = new BackoffSleeper();
+        String metricKey = locator == null ? null : locator.toString();
+        return new WebDriverWait(driver, timeout, initialInterval, Clock.systemDefaultZone(), sleeper) {
+            @Override
+            public <V> V until(Function<? super WebDriver, V> isTrue) {
+                long start = System.nanoTime();
+                sleeper.reset(start + timeout.toNanos());
+                try {
+                    V result = WaitPolicy.apply(driver, policy, () -> super.until(isTrue));
+                    // Solo las esperas positivas con página alimentan los timeouts adaptativos
+                    if (page != null && locator != null && policy == WaitPolicy.Policy.EXPLICIT) {
+                        AdaptiveTimeouts.record(page, locator, System.nanoTime() - start);
+                    }
+                    return result;
+                } catch (TimeoutException e) {
+                    if (metricKey != null) {
+                        ExecutionMetrics.increment(METRIC_TIMEOUT_PREFIX + metricKey);
+                    }
+                    throw e;
+                } finally {
+                    long elapsed = System.nanoTime() - start;
+                    ExecutionMetrics.recordNanos(METRIC_UNTIL, elapsed);
+                    if (metricKey != null) {
+                        ExecutionMetrics.recordNanos(METRIC_LOCATOR_PREFIX + metricKey, elapsed);
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * Calcula cada pausa según la estrategia, sin dormir más allá del timeout de la espera
+     */
+    private class BackoffSleeper implements Sleeper {
+        private int attempt;
+        private long deadlineNanos;
+
+        private void reset(long deadlineNanos) {
+            this.attempt = 0;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        @Override
+        public void sleep(Duration ignored) throws InterruptedException {
+            long interval = nextInterval(attempt++).toMillis();
+            long remaining = (deadlineNanos - System.nanoTime()) / 1_000_000;
+            // Un último chequeo justo en el límite en lugar de dormir de más; el margen cubre
+            // la diferencia con el reloj de FluentWait, que fija su límite un instante después
+            Thread.sleep(Math.min(interval, Math.max(0, remaining) + DEADLINE_MARGIN_MILLIS));
+        }
+
+        private Duration nextInterval(int attempt) {
+            switch (strategy) {
+                case EXPONENTIAL:
+                    long factor = 1L << Math.min(attempt, 16);
+                    return initialInterval.multipliedBy(factor).compareTo(maxInterval) > 0
+                            ? maxInterval : initialInterval.multipliedBy(factor);
+                case FAST_THEN_SLOW:
+                    return attempt < fastAttempts ? initialInterval : maxInterval;
+                default:
+                    return initialInterval;
+            }
+        }
+    }
+}
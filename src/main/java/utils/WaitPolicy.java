@@ -0,0 +1,139 @@
+package utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Dueña del implicit wait de cada sesión.
+ * El implicit wait global hace que cada findElements sobre un elemento ausente bloquee el timeout completo
+ * y se suma a las esperas explícitas. Esta clase lo pone en cero mientras dura una espera explícita o una
+ * verificación negativa (ausencia, error visible ahora mismo) y lo restaura al terminar.
+ * El tiempo de cada política se registra como "wait.policy.&lt;política&gt;".
+ */
+public class WaitPolicy {
+    private static final Logger logger = LoggerFactory.getLogger(WaitPolicy.class);
+
+    public static final String METRIC_PREFIX = "wait.policy.";
+    public static final String METRIC_TOGGLES = "wait.policy.toggles";
+
+    public enum Policy {
+        IMPLICIT,   // El implicit wait configurado de la sesión
+        EXPLICIT,   // WebDriverWait / sondeo propio: el implicit wait se suspende
+        NEGATIVE    // Verificación de ausencia o estado inmediato: debe responder en milisegundos
+    }
+
+    private static final Map<WebDriver, SessionState> sessions = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static class SessionState {
+        private final Duration implicitWait;
+        private boolean suspended;
+
+        private SessionState(Duration implicitWait) {
+            this.implicitWait = implicitWait;
+        }
+    }
+
+    private WaitPolicy() {
+    }
+
+    /**
+     * Aplica y registra el implicit wait de una sesión nueva
+     */
+    public static void register(WebDriver driver, Duration implicitWait) {
+        driver.manage().timeouts().implicitlyWait(implicitWait);
+        sessions.put(driver, new SessionState(implicitWait));
+    }
+
+    public static Duration getImplicitWait(WebDriver driver) {
+        return state(driver).implicitWait;
+    }
+
+    /**
+     * Ejecuta la acción bajo la política indicada.
+     * Con EXPLICIT o NEGATIVE el implicit wait vale cero durante la acción (también en llamadas anidadas)
+     * y se restaura al salir de la más externa.
+     */
+    public static <T> T apply(WebDriver driver, Policy policy, Supplier<T> action) {
+        long start = System.nanoTime();
+        SessionState state = policy == Policy.IMPLICIT ? null : state(driver);
+        boolean suspended = state != null && suspend(driver, state);
+        try {
+            return action.get();
+        } finally {
+            if (suspended) {
+                resume(driver, state);
+            }
+            ExecutionMetrics.recordSince(METRIC_PREFIX + policy.name().toLowerCase(), start);
+        }
+    }
+
+    public static void run(WebDriver driver, Policy policy, Runnable action) {
+        apply(driver, policy, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * WebDriverWait cuyo until() se ejecuta con el implicit wait suspendido (política EXPLICIT)
+     */
+    public static WebDriverWait explicitWait(WebDriver driver, Duration timeout) {
+        return WaitFactory.forDriver(driver).wait(timeout);
+    }
+
+    /**
+     * WebDriverWait cuyo until() se ejecuta bajo la política indicada (EXPLICIT o NEGATIVE)
+     */
+    public static WebDriverWait explicitWait(WebDriver driver, Duration timeout, Policy policy) {
+        return WaitFactory.forDriver(driver).wait(timeout, policy);
+    }
+
+    // ==================== Estado por sesión ====================
+
+    private static SessionState state(WebDriver driver) {
+        // Sesiones no creadas por BaseTest: se asume el timeout configurado
+        return sessions.computeIfAbsent(driver, d -> new SessionState(Duration.ofSeconds(ConfigReader.getTimeout())));
+    }
+
+    /**
+     * @return true si esta llamada puso el implicit wait en cero y debe restaurarlo (la más externa)
+     */
+    private static boolean suspend(WebDriver driver, SessionState state) {
+        synchronized (state) {
+            if (state.implicitWait.isZero() || state.suspended) {
+                return false;
+            }
+            state.suspended = true;
+        }
+        try {
+            driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        } catch (RuntimeException e) {
+            synchronized (state) {
+                state.suspended = false;
+            }
+            throw e;
+        }
+        ExecutionMetrics.increment(METRIC_TOGGLES);
+        return true;
+    }
+
+    private static void resume(WebDriver driver, SessionState state) {
+        try {
+            driver.manage().timeouts().implicitlyWait(state.implicitWait);
+        } catch (RuntimeException e) {
+            logger.debug("Could not restore implicit wait: {}", e.getMessage());
+        } finally {
+            synchronized (state) {
+                state.suspended = false;
+            }
+        }
+    }
+}
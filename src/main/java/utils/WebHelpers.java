@@ -8,10 +8,13 @@ import org.openqa.selenium.support.ui.Select;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
-import java.text.Normalizer;
-import java.util.regex.Pattern;
 
 import static basetest.BaseTest.StepMode.*;
 import static basetest.BaseTest.BufferAction.*;
@@ -28,11 +31,103 @@ public class WebHelpers {
     protected WebDriver driver;
     protected WebDriverWait wait;
     protected Actions actions;
+    protected WaitFactory waits;
+    protected final String pageName;
+    protected ElementCache elementCache;
+
+    private static final Duration DEFAULT_WAIT = Duration.ofSeconds(10);
 
     public WebHelpers(WebDriver driver) {
+        this(driver, null);
+    }
+
+    /**
+     * @param pageName Página que usa los helpers; agrupa las latencias de sus localizadores para los timeouts adaptativos
+     */
+    public WebHelpers(WebDriver driver, String pageName) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        this.pageName = pageName;
+        this.waits = WaitFactory.forDriver(driver);
+        this.wait = waits.wait(DEFAULT_WAIT);
         this.actions = new Actions(driver);
+        if (ConfigReader.isElementCacheEnabled()) {
+            this.elementCache = new ElementCache(driver);
+        }
+    }
+
+    /**
+     * Activa la caché de elementos para esta página (opt-in, ver {@link ElementCache})
+     */
+    public WebHelpers enableElementCache() {
+        if (elementCache == null) {
+            elementCache = new ElementCache(driver);
+        }
+        return this;
+    }
+
+    /**
+     * Espera explícita con el timeout por defecto y métricas agrupadas por localizador
+     */
+    protected WebDriverWait waitFor(By locator) {
+        return waitFor(locator, DEFAULT_WAIT);
+    }
+
+    /**
+     * Espera explícita positiva (el elemento debe aparecer o estar listo) con timeout adaptativo:
+     * el timeout pedido, el aprendido para (página, localizador) o el fijado como override
+     */
+    protected WebDriverWait waitFor(By locator, Duration timeout) {
+        return waits.wait(pageName, locator, timeoutFor(locator, timeout), WaitPolicy.Policy.EXPLICIT);
+    }
+
+    protected Duration timeoutFor(By locator, Duration configured) {
+        return AdaptiveTimeouts.resolve(pageName, locator, configured);
+    }
+
+    /**
+     * Elemento clickeable: la referencia cacheada si sigue visible y habilitada, si no lo localiza con espera
+     */
+    protected WebElement clickableElement(By locator) {
+        if (elementCache != null) {
+            WebElement cached = elementCache.get(locator);
+            if (cached != null) {
+                try {
+                    if (cached.isDisplayed() && cached.isEnabled()) {
+                        return cached;
+                    }
+                } catch (StaleElementReferenceException e) {
+                    elementCache.evictStale(locator);
+                }
+            }
+        }
+        return locateClickable(locator);
+    }
+
+    /**
+     * Localiza el elemento clickeable con espera, sin consultar la caché, y lo guarda en ella
+     */
+    private WebElement locateClickable(By locator) {
+        WebElement element = waitFor(locator).until(ExpectedConditions.elementToBeClickable(locator));
+        if (elementCache != null) {
+            elementCache.put(locator, element);
+        }
+        return element;
+    }
+
+    /**
+     * Ejecuta la acción sobre el elemento clickeable; si la referencia cacheada quedó obsoleta
+     * la descarta y reintenta una vez con el elemento relocalizado
+     */
+    protected void withClickableElement(By locator, Consumer<WebElement> action) {
+        try {
+            action.accept(clickableElement(locator));
+        } catch (StaleElementReferenceException e) {
+            if (elementCache == null) {
+                throw e;
+            }
+            elementCache.evictStale(locator);
+            action.accept(locateClickable(locator));
+        }
     }
 
     // ==================== INTERACCIÓN BÁSICA CON ELEMENTOS ====================
@@ -45,9 +140,10 @@ public class WebHelpers {
      */
     public void fillTextField(By locator, String value, String fieldDescription) {
         try {
-            WebElement field = wait.until(ExpectedConditions.elementToBeClickable(locator));
-            field.clear();
-            field.sendKeys(value);
+            withClickableElement(locator, field -> {
+                field.clear();
+                field.sendKeys(value);
+            });
         } catch (Exception e) {
             handleFieldError(fieldDescription, e);
         }
@@ -57,9 +153,30 @@ public class WebHelpers {
      * Llena un campo de texto
      */
     public void fillTextField(By locator, String value) {
-        WebElement field = wait.until(ExpectedConditions.elementToBeClickable(locator));
-        field.clear();
-        field.sendKeys(value);
+        withClickableElement(locator, field -> {
+            field.clear();
+            field.sendKeys(value);
+        });
+    }
+
+    /**
+     * Llena varios campos en un solo viaje al navegador (ver {@link FormFiller})
+     * @param fields Localizador → valor: String para texto y selects, Boolean para checkboxes y radios
+     * @param formDescription Descripción del formulario para logs y manejo de errores
+     */
+    public void fillForm(Map<By, ?> fields, String formDescription) {
+        try {
+            newForm().setAll(fields).fill();
+        } catch (Exception e) {
+            handleFieldError(formDescription, e);
+        }
+    }
+
+    /**
+     * Formulario en bloque de esta página, para combinar campos por script y campos escritos con teclado
+     */
+    public FormFiller newForm() {
+        return FormFiller.on(driver, pageName);
     }
 
     /**
@@ -78,8 +195,7 @@ public class WebHelpers {
      * @param locator Localizador del elemento
      */
     public void clickElement(By locator) {
-        WebElement element = wait.until(ExpectedConditions.elementToBeClickable(locator));
-        element.click();
+        withClickableElement(locator, WebElement::click);
     }
 
     /**
@@ -89,8 +205,7 @@ public class WebHelpers {
      */
     public void clickElement(By locator, String elementDescription) {
         try {
-            WebElement element = wait.until(ExpectedConditions.elementToBeClickable(locator));
-            element.click();
+            withClickableElement(locator, WebElement::click);
         } catch (Exception e) {
             handleClickError(elementDescription, e);
         }
@@ -105,7 +220,7 @@ public class WebHelpers {
      */
     public boolean tryClickElement(By locator, int timeoutSeconds, String elementDescription) {
         try {
-            WebDriverWait shortWait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
+            WebDriverWait shortWait = waitFor(locator, Duration.ofSeconds(timeoutSeconds));
             WebElement element = shortWait.until(ExpectedConditions.elementToBeClickable(locator));
             element.click();
             return true; // Éxito
@@ -123,7 +238,7 @@ public class WebHelpers {
      */
     public boolean isElementClickable(By locator, int timeoutSeconds) {
         try {
-            WebDriverWait shortWait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
+            WebDriverWait shortWait = waitFor(locator, Duration.ofSeconds(timeoutSeconds));
             shortWait.until(ExpectedConditions.elementToBeClickable(locator));
             return true;
         } catch (TimeoutException e) {
@@ -200,7 +315,7 @@ public class WebHelpers {
      * @param visibleText Texto visible de la opción
      */
     public void selectDropdown(By locator, String visibleText) {
-        WebElement selectElement = wait.until(ExpectedConditions.elementToBeClickable(locator));
+        WebElement selectElement = waitFor(locator).until(ExpectedConditions.elementToBeClickable(locator));
         Select select = new Select(selectElement);
         select.selectByVisibleText(visibleText);
     }
@@ -212,58 +327,21 @@ public class WebHelpers {
      */
     public void selectDropdownByText(By locator, String visibleText) {
         try {
-            WebElement selectElement = wait.until(ExpectedConditions.elementToBeClickable(locator));
-            Select select = new Select(selectElement);
-            List<WebElement> options = select.getOptions();
-
-            String normalizedSearchText = normalizeText(visibleText);
-
-            // Estrategia 1: Coincidencia exacta (comportamiento original)
-            for (WebElement option : options) {
-                if (option.getText().trim().equalsIgnoreCase(visibleText)) {
-                    select.selectByVisibleText(option.getText().trim());
-                    return;
-                }
-            }
-
-            // Estrategia 2: Coincidencia sin acentos
-            for (WebElement option : options) {
-                String optionText = option.getText().trim();
-                if (normalizeText(optionText).equals(normalizedSearchText)) {
-                    select.selectByVisibleText(optionText);
-                    return;
-                }
-            }
-
-            // Si no encuentra nada, lanzar error con opciones disponibles
-            StringBuilder availableOptions = new StringBuilder();
-            for (int i = 0; i < Math.min(options.size(), 5); i++) {
-                availableOptions.append("'").append(options.get(i).getText().trim()).append("'");
-                if (i < Math.min(options.size(), 5) - 1) availableOptions.append(", ");
-            }
-
-            throw new RuntimeException("No se encontró '" + visibleText + "' en el dropdown. " +
-                    "Opciones disponibles: " + availableOptions.toString());
-
+            WebElement selectElement = waitFor(locator).until(ExpectedConditions.elementToBeClickable(locator));
+            // Coincidencia exacta, sin mayúsculas, sin acentos, por value o por prefijo, resuelta en la página
+            DropdownMatcher.select(driver, selectElement, visibleText);
         } catch (Exception e) {
             handleFieldError("dropdown", e);
         }
     }
 
-    private String normalizeText(String text) {
-        if (text == null) return "";
-        String normalized = Normalizer.normalize(text.toLowerCase().trim(), Normalizer.Form.NFD);
-        Pattern pattern = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
-        return pattern.matcher(normalized).replaceAll("");
-    }
-
     /**
      * Selecciona una opción en un select HTML estándar por valor
      * @param locator Localizador del select
      * @param value Valor de la opción
      */
     public void selectDropdownByValue(By locator, String value) {
-        WebElement selectElement = wait.until(ExpectedConditions.elementToBeClickable(locator));
+        WebElement selectElement = waitFor(locator).until(ExpectedConditions.elementToBeClickable(locator));
         Select select = new Select(selectElement);
         select.selectByValue(value);
     }
@@ -279,7 +357,7 @@ public class WebHelpers {
         clickElement(triggerLocator);
 
         // Esperar que aparezcan las opciones
-        wait.until(ExpectedConditions.presenceOfElementLocated(optionsContainerLocator));
+        waitFor(optionsContainerLocator).until(ExpectedConditions.presenceOfElementLocated(optionsContainerLocator));
 
         // Buscar y hacer clic en la opción deseada
         WebElement optionsContainer = driver.findElement(optionsContainerLocator);
@@ -327,9 +405,11 @@ public class WebHelpers {
                 monthToUse = convertMonthNumberToName(month);
             }
 
-            selectDropdownByText(dayLocator, day);
-            selectDropdownByText(monthLocator, monthToUse);
-            selectDropdownByText(yearLocator, year);
+            // Los tres dropdowns en un solo viaje al navegador
+            newForm().set(dayLocator, day)
+                    .set(monthLocator, monthToUse)
+                    .set(yearLocator, year)
+                    .fill();
         } catch (Exception e) {
             handleFieldError(fieldDescription, e);
         }
@@ -364,7 +444,7 @@ public class WebHelpers {
      * @param locator Localizador del elemento
      */
     public void scrollToElement(By locator) {
-        WebElement element = wait.until(ExpectedConditions.presenceOfElementLocated(locator));
+        WebElement element = waitFor(locator).until(ExpectedConditions.presenceOfElementLocated(locator));
         ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView({behavior: 'smooth', block: 'center'});", element);
     }
 
@@ -433,8 +513,8 @@ public class WebHelpers {
      * @param timeoutSeconds Tiempo máximo de espera en segundos
      */
     public void waitForElementToAppearAndDisappear(By locator, int timeoutSeconds) {
-        WebDriverWait customWait = new WebDriverWait(driver, Duration.ofSeconds(30));
-        customWait.until(ExpectedConditions.presenceOfElementLocated(locator));
+        waitFor(locator, Duration.ofSeconds(timeoutSeconds)).until(ExpectedConditions.presenceOfElementLocated(locator));
+        WebDriverWait customWait = waits.wait(locator, Duration.ofSeconds(timeoutSeconds));
         customWait.until(ExpectedConditions.invisibilityOfElementLocated(locator));
     }
 
@@ -445,19 +525,19 @@ public class WebHelpers {
      * @param timeoutSeconds Tiempo máximo de espera
      */
     public void clickWhenReady(By elementLocator, By spinnerLocator, int timeoutSeconds) {
-        WebDriverWait customWait = new WebDriverWait(driver, Duration.ofSeconds(30));
+        Duration timeout = Duration.ofSeconds(timeoutSeconds);
 
         // Esperar que desaparezca el spinner si existe
         if (spinnerLocator != null) {
             try {
-                customWait.until(ExpectedConditions.invisibilityOfElementLocated(spinnerLocator));
+                waits.wait(spinnerLocator, timeout).until(ExpectedConditions.invisibilityOfElementLocated(spinnerLocator));
             } catch (TimeoutException e) {
                 System.out.println("Warning: Spinner did not disappear within expected time");
             }
         }
 
         // Hacer clic en el elemento
-        WebElement element = customWait.until(ExpectedConditions.elementToBeClickable(elementLocator));
+        WebElement element = waitFor(elementLocator, timeout).until(ExpectedConditions.elementToBeClickable(elementLocator));
         try {
             element.click();
         } catch (ElementClickInterceptedException e) {
@@ -473,7 +553,7 @@ public class WebHelpers {
      */
     public void waitForSpinnerToDisappear(By spinnerLocator, int timeoutSeconds) {
         try {
-            WebDriverWait customWait = new WebDriverWait(driver, Duration.ofSeconds(30));
+            WebDriverWait customWait = waits.wait(spinnerLocator, Duration.ofSeconds(timeoutSeconds));
             customWait.until(ExpectedConditions.invisibilityOfElementLocated(spinnerLocator));
         } catch (TimeoutException e) {
             System.out.println("Warning: Spinner did not disappear within " + timeoutSeconds + " seconds");
@@ -489,18 +569,8 @@ public class WebHelpers {
      * @return true si es visible, false si no
      */
     public boolean isElementVisible(By locator, int timeoutSeconds) {
-        for (int i = 0; i < timeoutSeconds * 2; i++) {
-            try {
-                List<WebElement> elements = driver.findElements(locator);
-                if (!elements.isEmpty() && elements.get(0).isDisplayed()) {
-                    return true;
-                }
-                Thread.sleep(500);
-            } catch (Exception e) {
-                // Continuar verificando
-            }
-        }
-        return false;
+        return DomWaiter.waitFor(driver, pageName, locator, DomWaiter.Condition.VISIBLE,
+                timeoutFor(locator, Duration.ofSeconds(timeoutSeconds)));
     }
 
     /**
@@ -510,7 +580,7 @@ public class WebHelpers {
      * @return true si el elemento apareció y desapareció, false si no
      */
     public boolean waitForElementToAppearAndThenDisappear(By locator, int timeoutSeconds) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
+        WebDriverWait wait = waits.wait(locator, Duration.ofSeconds(timeoutSeconds));
 
         try {
             // Custom condition que espera aparición y luego desaparición
@@ -544,18 +614,8 @@ public class WebHelpers {
      * @return true si aparece, false si no
      */
     public boolean waitForElementToAppear(By locator, int timeoutSeconds) {
-        for (int i = 0; i < timeoutSeconds * 2; i++) {
-            try {
-                List<WebElement> elements = driver.findElements(locator);
-                if (!elements.isEmpty() && elements.get(0).isDisplayed()) {
-                    return true;
-                }
-                Thread.sleep(500);
-            } catch (Exception e) {
-                // Continuar verificando
-            }
-        }
-        return false;
+        return DomWaiter.waitFor(driver, pageName, locator, DomWaiter.Condition.VISIBLE,
+                timeoutFor(locator, Duration.ofSeconds(timeoutSeconds)));
     }
 
 //    public boolean waitForElementToAppear(By locator, int timeoutSeconds) {
@@ -575,18 +635,7 @@ public class WebHelpers {
      * @return true si desaparece, false si no
      */
     public boolean waitForElementToDisappear(By locator, int timeoutSeconds) {
-        for (int i = 0; i < timeoutSeconds * 2; i++) {
-            try {
-                List<WebElement> elements = driver.findElements(locator);
-                if (elements.isEmpty() || !elements.get(0).isDisplayed()) {
-                    return true;
-                }
-                Thread.sleep(500);
-            } catch (Exception e) {
-                // Continuar verificando
-            }
-        }
-        return false;
+        return DomWaiter.waitFor(driver, locator, DomWaiter.Condition.HIDDEN, timeoutSeconds);
     }
 
     /**
@@ -597,7 +646,7 @@ public class WebHelpers {
      */
     public boolean verifyElementIsNotPresent(By locator, int timeoutSeconds) {
         try {
-            WebDriverWait customWait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
+            WebDriverWait customWait = waits.wait(locator, Duration.ofSeconds(timeoutSeconds), WaitPolicy.Policy.NEGATIVE);
             // Usar ExpectedConditions predefinido
             customWait.until(ExpectedConditions.invisibilityOfElementLocated(locator));
             return true;
@@ -614,7 +663,7 @@ public class WebHelpers {
      */
     public boolean verifyElementIsNotVisible(By locator, int timeoutSeconds) {
         try {
-            WebDriverWait customWait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
+            WebDriverWait customWait = waits.wait(locator, Duration.ofSeconds(timeoutSeconds), WaitPolicy.Policy.NEGATIVE);
             // Esperar hasta que el elemento sea invisible
             customWait.until(ExpectedConditions.invisibilityOfElementLocated(locator));
             return true; // No está visible
@@ -632,7 +681,7 @@ public class WebHelpers {
      * @throws RuntimeException si encuentra un error
      */
     public void validateActionResult(By errorLocator, By successLocator, int timeoutSeconds, String actionDescription) {
-        WebDriverWait shortWait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
+        WebDriverWait shortWait = waits.wait(errorLocator, Duration.ofSeconds(timeoutSeconds));
 
         try {
             if (successLocator != null) {
@@ -646,9 +695,11 @@ public class WebHelpers {
         } catch (TimeoutException e) {
             return;
         }
-        List<WebElement> errors = driver.findElements(errorLocator);
-        if (!errors.isEmpty() && errors.get(0).isDisplayed()) {
-            String errorText = errors.get(0).getText();
+        String errorText = WaitPolicy.apply(driver, WaitPolicy.Policy.NEGATIVE, () -> {
+            List<WebElement> errors = driver.findElements(errorLocator);
+            return !errors.isEmpty() && errors.get(0).isDisplayed() ? errors.get(0).getText() : null;
+        });
+        if (errorText != null) {
             String fullErrorMessage = actionDescription + " falló: " + errorText;
             BaseTest.processBuffer(COMMIT_MERGED_FAILURE, fullErrorMessage, true);
             throw new RuntimeException(fullErrorMessage);
@@ -678,6 +729,14 @@ public class WebHelpers {
         return true;
     }
 
+    /**
+     * Carrera entre los resultados posibles de una acción (ver {@link OutcomeRace});
+     * reemplaza validateActionResult cuando se conoce el elemento de éxito
+     */
+    public <T> OutcomeRace<T> newRace() {
+        return OutcomeRace.on(driver);
+    }
+
     /**
      * Obtiene el texto de error de forma segura
      * @param errorLocator Localizador del mensaje de error
@@ -685,11 +744,13 @@ public class WebHelpers {
      */
     public String getErrorMessageSafe(By errorLocator) {
         try {
-            List<WebElement> errors = driver.findElements(errorLocator);
-            if (!errors.isEmpty() && errors.get(0).isDisplayed()) {
-                return errors.get(0).getText();
-            }
-            return "No se encontró mensaje de error";
+            return WaitPolicy.apply(driver, WaitPolicy.Policy.NEGATIVE, () -> {
+                List<WebElement> errors = driver.findElements(errorLocator);
+                if (!errors.isEmpty() && errors.get(0).isDisplayed()) {
+                    return errors.get(0).getText();
+                }
+                return "No se encontró mensaje de error";
+            });
         } catch (Exception e) {
             return "Error al obtener mensaje: " + e.getMessage();
         }
@@ -702,13 +763,51 @@ public class WebHelpers {
      */
     public boolean isErrorVisible(By errorLocator) {
         try {
-            List<WebElement> errors = driver.findElements(errorLocator);
-            return !errors.isEmpty() && errors.get(0).isDisplayed();
+            return WaitPolicy.apply(driver, WaitPolicy.Policy.NEGATIVE, () -> {
+                List<WebElement> errors = driver.findElements(errorLocator);
+                return !errors.isEmpty() && errors.get(0).isDisplayed();
+            });
         } catch (Exception e) {
             return false;
         }
     }
 
+    // ==================== SNAPSHOTS DEL DOM ====================
+
+    /**
+     * Presencia, visibilidad y texto de varios elementos en una sola llamada al navegador
+     * @param locators Localizadores a leer
+     */
+    public DomSnapshot snapshot(By... locators) {
+        return DomSnapshot.capture(driver, Arrays.asList(locators));
+    }
+
+    /**
+     * Igual que {@link #snapshot(By...)}, leyendo además los atributos indicados de cada elemento presente
+     */
+    public DomSnapshot snapshot(Collection<By> locators, String... attributes) {
+        return DomSnapshot.capture(driver, locators, attributes);
+    }
+
+    /**
+     * Sondea el conjunto de localizadores hasta que la condición sobre el snapshot se cumpla
+     * @param condition Condición sobre el estado de todos los elementos (ej: s -> s.allVisible(a, b))
+     * @param timeoutSeconds Tiempo máximo de espera
+     * @param locators Localizadores a leer en cada sondeo
+     * @return El snapshot que cumplió la condición, o el último leído si venció el timeout
+     */
+    public DomSnapshot waitForSnapshot(Predicate<DomSnapshot> condition, int timeoutSeconds, By... locators) {
+        DomSnapshot[] last = {null};
+        try {
+            return waits.wait(Duration.ofSeconds(timeoutSeconds)).until(d -> {
+                last[0] = DomSnapshot.capture(d, Arrays.asList(locators));
+                return condition.test(last[0]) ? last[0] : null;
+            });
+        } catch (TimeoutException e) {
+            return last[0] != null ? last[0] : snapshot(locators);
+        }
+    }
+
     // ==================== UTILIDADES JAVASCRIPT ====================
 
     /**
@@ -792,7 +891,7 @@ public class WebHelpers {
 
     public boolean isElementPresent(By locator, int timeoutSeconds) {
         try {
-            WebDriverWait customWait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
+            WebDriverWait customWait = waitFor(locator, Duration.ofSeconds(timeoutSeconds));
             customWait.until(ExpectedConditions.visibilityOfElementLocated(locator));
             return true;
         } catch (TimeoutException e) {
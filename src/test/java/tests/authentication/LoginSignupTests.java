@@ -1,11 +1,21 @@
 package tests.authentication;
 
 import basetest.BaseTest;
+import data.AccountSeeder;
+import data.UserAccount;
+import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 import pages.user.HomePage;
 
 public class LoginSignupTests extends BaseTest {
 
+    private static final UserAccount TEST_ACCOUNT = new UserAccount("Sandra", "emailparaprueba@test.com", "123456");
+
+    @BeforeClass
+    public void seedTestAccount() {
+        AccountSeeder.ensureAccount(TEST_ACCOUNT);
+    }
+
     //@Test(description = "Test Case 2: Login User with correct email and password")
     public void testLoginWithValidCredentials() {
         new HomePage(getDriver())
@@ -43,12 +53,7 @@ public class LoginSignupTests extends BaseTest {
         new HomePage(getDriver())
                 .navigateToHome()
                 .verifyHomePageLoaded()
-                .clickSignupLogin()
-                .verifyloginToYouAccountIsVisible()
-                .fillLoginEmail("emailparaprueba@test.com")
-                .fillLoginPass("123456")
-                .clickLoginButton()
-                .loginAndVerifySuccess()
+                .asLoggedIn(TEST_ACCOUNT.getCredentials())
                 .verifyUserIsLoggedIn()
                 .clickLogout()
                 .verifyloginToYouAccountIsVisible();
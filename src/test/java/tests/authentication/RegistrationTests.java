@@ -1,6 +1,8 @@
 package tests.authentication;
 
 import basetest.BaseTest;
+import data.AccountSeeder;
+import data.UserAccount;
 import org.testng.annotations.Test;
 import pages.user.HomePage;
 
@@ -17,21 +19,9 @@ public class RegistrationTests extends BaseTest {
                 .fillSignupEmail("emaildeprueba@test.com")
                 .clickSignupButton()
                 .signupAndVerifySuccess()
-                .selectTitle("Mr.")
-                .fillPassword("123456")
-                .fillDateOfBirth("17","11", "2010")
+                .fillAccountForm(new UserAccount("Mateo", "emaildeprueba@test.com", "123456"))
                 .selectNewsletterSubscription()
                 .selectSpecialOffers()
-                .fillFirstName("Mateo")
-                .fillLastName("Castillo")
-                .fillCompany("SQA")
-                .fillAddress1("Santo cura 31")
-                .fillAddress2("Santo Domingo, Republica Dominicana")
-                .fillCountry("Canada")
-                .fillState("QA")
-                .fillCity("Santo Domingo")
-                .fillZipCode("12000")
-                .fillMobilePhone("829-400-0909")
                 .clickCreateAccountButton()
                 .verifyAccountCreatedPageIsDisplayed()
                 .clickContinueAfterAccountCreation()
@@ -60,35 +50,8 @@ public class RegistrationTests extends BaseTest {
 
     //@Test(description = "Create Account for test")
     public void testCreateUserForTest(){
-        new HomePage(getDriver())
-                .navigateToHome()
-                .verifyHomePageLoaded()
-                .clickSignupLogin()
-                .verifylNewUserSignupIsVisible()
-                .fillSignupName("Sandra")
-                .fillSignupEmail("emailparaprueba@test.com")
-                .clickSignupButton()
-                .signupAndVerifySuccess()
-                .selectTitle("Mr.")
-                .fillPassword("123456")
-                .fillDateOfBirth("17","11", "2010")
-                .selectNewsletterSubscription()
-                .selectSpecialOffers()
-                .fillFirstName("Mateo")
-                .fillLastName("Castillo")
-                .fillCompany("SQA")
-                .fillAddress1("Santo cura 31")
-                .fillAddress2("Santo Domingo, Republica Dominicana")
-                .fillCountry("Canada")
-                .fillState("QA")
-                .fillCity("Santo Domingo")
-                .fillZipCode("12000")
-                .fillMobilePhone("829-400-0909")
-                .clickCreateAccountButton()
-                .verifyAccountCreatedPageIsDisplayed()
-                .clickContinueAfterAccountCreation()
-                .verifyUserIsLoggedIn();
-
+        // La cuenta se crea vía API: solo los tests de registro recorren el formulario por UI
+        AccountSeeder.ensureAccount(new UserAccount("Sandra", "emailparaprueba@test.com", "123456"));
     }
 
 
@@ -0,0 +1,55 @@
+package tests.locators;
+
+import basetest.BaseTest;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.Test;
+import pages.authentication.CreateAccountPage;
+import pages.authentication.SignupLoginPage;
+import pages.contact.ContactUsPage;
+import pages.user.HomePage;
+import utils.LocatorAnalyzer;
+import utils.LocatorAnalyzer.LocatorCost;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static basetest.BaseTest.StepMode.*;
+
+/**
+ * Herramienta: mide los localizadores de cada página sobre su propio DOM y deja el ranking en el log y el reporte.
+ * No forma parte de la suite (agregar la clase en testng.xml para ejecutarla; con base.url=local usa la réplica).
+ */
+public class LocatorAnalysisTest extends BaseTest {
+    private static final Logger logger = LoggerFactory.getLogger(LocatorAnalysisTest.class);
+
+    @Test(description = "Locator cost report for all page objects")
+    public void testLocatorCostReport() {
+        WebDriver driver = getDriver();
+        List<LocatorCost> costs = new ArrayList<>();
+
+        HomePage home = new HomePage(driver).navigateToHome();
+        costs.addAll(LocatorAnalyzer.analyze(driver, home));
+
+        SignupLoginPage signupLogin = home.clickSignupLogin();
+        costs.addAll(LocatorAnalyzer.analyze(driver, signupLogin));
+
+        // El formulario de cuenta solo existe después del signup; la cuenta no se crea hasta enviarlo
+        CreateAccountPage createAccount = signupLogin
+                .fillSignupName("Locator")
+                .fillSignupEmail("locators_" + UUID.randomUUID().toString().substring(0, 8) + "@test.com")
+                .clickSignupButton()
+                .signupAndVerifySuccess();
+        costs.addAll(LocatorAnalyzer.analyze(driver, createAccount));
+
+        ContactUsPage contactUs = new HomePage(driver).navigateToHome().clickContactUs();
+        costs.addAll(LocatorAnalyzer.analyze(driver, contactUs));
+
+        costs.sort((a, b) -> Double.compare(b.getMicros(), a.getMicros()));
+        String report = LocatorAnalyzer.report(costs);
+        logger.info("=== LOCATOR COST REPORT ==={}", report);
+        BaseTest.createStep("Costo de localizadores:<pre>" + report + "</pre>", true, false, IMMEDIATE);
+    }
+}
@@ -0,0 +1,72 @@
+package tests.locators;
+
+import org.openqa.selenium.By;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import utils.LocatorRewriter;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+
+/**
+ * Traducción de XPath a id/CSS de LocatorRewriter. No abre navegador: no extiende BaseTest.
+ */
+public class LocatorRewriterTest {
+
+    @DataProvider
+    public Object[][] rewritable() {
+        return new Object[][]{
+                {"//input[@id='password']", By.cssSelector("input#password")},
+                {"//*[@id='password']", By.id("password")},
+                {"//*[@name='email']", By.cssSelector("[name='email']")},
+                {"//button[@data-qa='login-button']", By.cssSelector("button[data-qa='login-button']")},
+                {"//input[@data-qa=\"signup-name\"]", By.cssSelector("input[data-qa='signup-name']")},
+                {"//input[@type='email' and @name='email']", By.cssSelector("input[type='email'][name='email']")},
+                {"//input[@id='email'][@name='email']", By.cssSelector("input#email[name='email']")},
+                // Valores que no son identificadores CSS van como selector de atributo
+                {"//input[@id='1st-field']", By.cssSelector("input[id='1st-field']")},
+                {"//input[@id='user.name']", By.cssSelector("input[id='user.name']")},
+                {"//*[@id='user.name']", By.id("user.name")},
+                {"//a[@href='/login']", By.cssSelector("a[href='/login']")},
+        };
+    }
+
+    @DataProvider
+    public Object[][] notRewritable() {
+        return new Object[][]{
+                {"//a[text()='Signup / Login']"},
+                {"//a[normalize-space()='Home']"},
+                {"//a[contains(@href,'login')]"},
+                {"//div[@class='login-form']//input[@name='email']"},
+                {"//div/input[@id='x']"},
+                {"//input[@id='x']/following-sibling::span"},
+                {"//input[@id='x'][1]"},
+                {"(//input[@id='x'])[2]"},
+                {"//input[@id='x' or @name='x']"},
+                {"//input[@value=\"it's\"]"},
+                {"//input[@value='say \"hi\"']"},
+                {"//*[@id='a' and @name='b' and text()='c']"},
+        };
+    }
+
+    @Test(dataProvider = "rewritable", description = "Los XPath simples se traducen a id o CSS equivalentes")
+    public void testRewritesSimpleXPath(String xpath, By expected) {
+        assertEquals(LocatorRewriter.rewrite(By.xpath(xpath)), expected, xpath);
+    }
+
+    @Test(dataProvider = "notRewritable", description = "Las demás expresiones se dejan como XPath")
+    public void testKeepsOtherXPath(String xpath) {
+        By locator = By.xpath(xpath);
+        assertSame(LocatorRewriter.rewrite(locator), locator, xpath);
+        assertFalse(LocatorRewriter.isRewritable(locator), xpath);
+    }
+
+    @Test(description = "Los localizadores que no son XPath no se tocan")
+    public void testKeepsNonXPathLocators() {
+        By id = By.id("password");
+        By css = By.cssSelector("input[data-qa='login-email']");
+        assertSame(LocatorRewriter.rewrite(id), id);
+        assertSame(LocatorRewriter.rewrite(css), css);
+    }
+}
@@ -0,0 +1,91 @@
+package tests.parallel;
+
+import basetest.BaseTest;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.model.Log;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import utils.ExtentManager;
+import utils.ScreenshotPipeline;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static basetest.BaseTest.BufferAction.*;
+import static basetest.BaseTest.StepMode.*;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Escritura concurrente del reporte sin navegador: varios hilos mezclan pasos inmediatos, buffers confirmados
+ * y pasos con screenshot por ScreenshotPipeline sobre su propio ExtentTest, y cada test debe quedar con
+ * todos sus pasos, en el orden en que los envió. No extiende BaseTest: no abre sesiones.
+ */
+public class ReportConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int INVOCATIONS = 24;
+    private static final int ROUNDS = 15;
+
+    private final byte[][] screenshots = new byte[4][];
+
+    @BeforeClass
+    public void setUpReport() throws IOException {
+        ExtentManager.createInstance();
+        Color[] colors = {Color.RED, Color.GREEN, Color.BLUE, Color.ORANGE};
+        for (int i = 0; i < screenshots.length; i++) {
+            screenshots[i] = png(colors[i]);
+        }
+    }
+
+    @Test(threadPoolSize = THREADS, invocationCount = INVOCATIONS,
+            description = "Los pasos de cada test llegan completos y en orden con escrituras concurrentes")
+    public void testConcurrentStepsKeepOrder() {
+        String name = Thread.currentThread().getName() + "-" + System.nanoTime();
+        ExtentTest test = ExtentManager.createTest(name, "report concurrency");
+        try {
+            int step = 0;
+            for (int round = 0; round < ROUNDS; round++) {
+                BaseTest.createStep(marker(name, step++), true, false, IMMEDIATE);
+                BaseTest.createStep(marker(name, step++), true, false, BUFFER);
+                BaseTest.createStep(marker(name, step++), true, false, BUFFER);
+                BaseTest.processBuffer(COMMIT_SUCCESS, null, false);
+                ScreenshotPipeline.submit(test, Status.PASS, marker(name, step++),
+                        screenshots[round % screenshots.length], "success");
+                ExtentManager.log(Status.INFO, marker(name, step++));
+            }
+            ScreenshotPipeline.awaitTest(test);
+
+            List<Log> logs = test.getModel().getLogs();
+            assertEquals(logs.size(), step, "Pasos escritos en " + name);
+            for (int i = 0; i < step; i++) {
+                String details = logs.get(i).getDetails();
+                assertTrue(details.startsWith(marker(name, i)), "Paso " + i + " fuera de orden en " + name + ": "
+                        + details.substring(0, Math.min(80, details.length())));
+            }
+        } finally {
+            ExtentManager.removeTest();
+        }
+    }
+
+    private static String marker(String name, int step) {
+        return String.format("[%s #%03d]", name, step);
+    }
+
+    private static byte[] png(Color color) throws IOException {
+        BufferedImage image = new BufferedImage(640, 360, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(color);
+        graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+        graphics.dispose();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", bytes);
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,57 @@
+package tests.session;
+
+import basetest.SessionSupervisor;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.net.ConnectException;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Clasificación de fallos de SessionSupervisor.isCrash. No abre navegador: no extiende BaseTest.
+ */
+public class SessionSupervisorTest {
+
+    @DataProvider
+    public Object[][] crashes() {
+        return new Object[][]{
+                {new NoSuchSessionException("invalid session id")},
+                {new UnreachableBrowserException("Error communicating with the remote browser")},
+                {new WebDriverException("Could not start", new ConnectException("Connection refused"))},
+                {new WebDriverException("unknown error: session deleted because of page crash\nfrom tab crashed")},
+                {new WebDriverException("chrome not reachable")},
+                {new WebDriverException("disconnected: not connected to DevTools")},
+                {new WebDriverException("Failed to decode response from marionette")},
+                {new WebDriverException("unknown error: DevToolsActivePort file doesn't exist")},
+        };
+    }
+
+    @DataProvider
+    public Object[][] pageFailures() {
+        return new Object[][]{
+                {new ElementNotInteractableException("Element <input id=\"email\"> is not reachable by keyboard")},
+                {new WebDriverException("Element is disconnected from the document")},
+                {new WebDriverException("net::ERR_CONNECTION_REFUSED")},
+                {new WebDriverException("session not created: This version of ChromeDriver only supports Chrome version 118")},
+                {new TimeoutException("Expected condition failed: waiting for visibility of element")},
+                {new AssertionError("expected [true] but found [false]")},
+        };
+    }
+
+    @Test(dataProvider = "crashes", description = "Las sesiones muertas se reconocen como caída del navegador")
+    public void testRecognisesCrashes(Throwable failure) {
+        assertTrue(SessionSupervisor.isCrash(failure), failure.getMessage());
+    }
+
+    @Test(dataProvider = "pageFailures", description = "Los fallos de página o de aserción no son caídas")
+    public void testIgnoresPageFailures(Throwable failure) {
+        assertFalse(SessionSupervisor.isCrash(failure), failure.getMessage());
+    }
+}